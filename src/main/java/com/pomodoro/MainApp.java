@@ -4,6 +4,9 @@ import javax.swing.*;
 import com.pomodoro.ui.*;
 import com.pomodoro.model.Settings;
 import com.pomodoro.di.ServiceContainer;
+import com.pomodoro.server.PomodoroServer;
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Main application class that initializes and manages the Pomodoro Task Tracker application.
@@ -21,6 +24,7 @@ public class MainApp extends JFrame {
      */
     public MainApp() {
         this.services = new ServiceContainer();
+        services.closeOnShutdown();
         initializeUI();
         setupWindowListener();
     }
@@ -46,13 +50,12 @@ public class MainApp extends JFrame {
 
     /**
      * Sets up the window listener to handle application shutdown.
-     * Saves all data when the application is closed.
+     * Data is saved by the services' shutdown hook when the application exits.
      */
     private void setupWindowListener() {
         addWindowListener(new java.awt.event.WindowAdapter() {
             @Override
             public void windowClosing(java.awt.event.WindowEvent windowEvent) {
-                services.saveAll();
                 System.exit(0);
             }
         });
@@ -74,10 +77,7 @@ public class MainApp extends JFrame {
         fileMenu.addSeparator();
         
         JMenuItem exitItem = new JMenuItem("Exit");
-        exitItem.addActionListener(e -> {
-            services.saveAll();
-            System.exit(0);
-        });
+        exitItem.addActionListener(e -> System.exit(0));
         fileMenu.add(exitItem);
         
         // Help Menu
@@ -95,7 +95,7 @@ public class MainApp extends JFrame {
      */
     private void createTabbedPane() {
         tabbedPane = new JTabbedPane();
-        mainPanel = new MainPanel(services.getTaskManager());
+        mainPanel = new MainPanel(services.getTaskManager(), services.getPomodoroSession());
         analyticsPanel = new AnalyticsPanel(
             services.getAnalyticsService()
         );
@@ -142,11 +142,28 @@ public class MainApp extends JFrame {
 
     /**
      * The main entry point of the application.
-     * Creates and shows the main application window on the Event Dispatch Thread.
+     * Creates and shows the main application window on the Event Dispatch Thread,
+     * or with {@code --server [port] [dataRoot] [capacity]} runs the headless multi-user server.
      *
-     * @param args Command line arguments (not used)
+     * @param args Command line arguments
+     * @throws IOException if the server port cannot be bound
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port;
+            int capacity;
+            try {
+                port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+                capacity = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+            } catch (NumberFormatException e) {
+                System.err.println("Usage: --server [port] [dataRoot] [capacity]");
+                System.exit(2);
+                return;
+            }
+            Path dataRoot = Path.of(args.length > 2 ? args[2] : "pomodoro_tenants");
+            PomodoroServer.launch(port, dataRoot, capacity);
+            return;
+        }
         SwingUtilities.invokeLater(() -> new MainApp());
     }
 }
@@ -2,26 +2,45 @@ package com.pomodoro.di;
 
 import com.pomodoro.model.Settings;
 import com.pomodoro.service.*;
+import java.io.Closeable;
+import java.nio.file.Path;
 
 /**
  * Dependency injection container for the Pomodoro application.
  * Manages creation and lifecycle of all application services.
  */
-public class ServiceContainer {
+public class ServiceContainer implements Closeable {
     private final Settings settings;
     private final TaskManager taskManager;
     private final DataManager dataManager;
     private final AnalyticsService analyticsService;
+    private final PomodoroSession pomodoroSession;
 
     /**
      * Creates a new ServiceContainer and initializes all application services.
      * Services are initialized in the correct dependency order.
      */
     public ServiceContainer() {
-        this.dataManager = new DataManager();
+        this(new DataManager());
+    }
+
+    /**
+     * Creates a headless ServiceContainer whose data lives in its own directory.
+     * Task change events are delivered on the calling thread instead of the Swing event queue.
+     *
+     * @param dataDir Directory holding this container's data
+     */
+    public ServiceContainer(Path dataDir) {
+        this(new DataManager(dataDir));
+        taskManager.setEventDispatcher(Runnable::run);
+    }
+
+    private ServiceContainer(DataManager dataManager) {
+        this.dataManager = dataManager;
         this.settings = dataManager.loadSettings();
         this.analyticsService = new AnalyticsService(dataManager);
         this.taskManager = new TaskManager(dataManager, analyticsService);
+        this.pomodoroSession = new PomodoroSession(taskManager, settings);
     }
 
     /**
@@ -56,14 +75,40 @@ public class ServiceContainer {
         return analyticsService;
     }
 
+    /**
+     * Gets the work/break cycle of this container's user.
+     * @return Pomodoro session instance
+     */
+    public PomodoroSession getPomodoroSession() {
+        return pomodoroSession;
+    }
+
     /**
      * Saves all application data.
-     * Persists settings, tasks, and analytics data.
+     * Persists settings, tasks, and analytics data that changed and waits until they are on disk.
      */
     public void saveAll() {
-        System.out.println("settings " + settings.getWorkInterval());
         dataManager.saveSettings(settings);
         taskManager.saveTasks();
         analyticsService.saveAnalytics();
+        dataManager.flush();
+    }
+
+    /**
+     * Saves and closes the container when the JVM shuts down, however it exits.
+     * Meant for an application that owns one container for its whole lifetime.
+     */
+    public void closeOnShutdown() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "pomodoro-shutdown"));
+    }
+
+    /**
+     * Saves all application data and releases the data directory.
+     * The container must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        saveAll();
+        dataManager.close();
     }
 }
@@ -0,0 +1,30 @@
+package com.pomodoro.model;
+
+/**
+ * Read access to completed Pomodoro sessions by position, in completion order.
+ */
+public interface CompletedSessions {
+    /** @return Number of sessions */
+    int size();
+
+    /**
+     * Gets the completion time of a session.
+     * @param index Session position
+     * @return Completion time in epoch seconds
+     */
+    long getCompletionEpoch(int index);
+
+    /**
+     * Gets the duration of a session.
+     * @param index Session position
+     * @return Duration in seconds
+     */
+    int getDuration(int index);
+
+    /**
+     * Gets the task id of a session.
+     * @param index Session position
+     * @return Task id
+     */
+    int getTaskId(int index);
+}
@@ -1,12 +1,17 @@
 package com.pomodoro.model;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
  * Represents a task in the Pomodoro application.
  * Contains task properties like name, priority, completion status, and timing information.
+ * Every setter that changes a persisted property bumps a modification count, so the
+ * persistence layer can tell which tasks changed since they were last saved.
+ * The list position is not counted, as it is derived from the order of the list.
  */
 public class Task {
+    private long id; // 0 until assigned by TaskManager
     private String name;
     private int priority;
     private boolean completed;
@@ -14,6 +19,8 @@ public class Task {
     private int index; // Add index field
     private int plannedDuration; // in seconds
     private LocalDateTime completionTime; // Add completionTime field
+    private long modificationCount;
+    private long savedModificationCount = -1; // Count when last marked as saved, -1 if never
 
     /**
      * Creates a new task with specified name and priority.
@@ -30,6 +37,41 @@ public class Task {
         this.completionTime = null; // default null
     }
 
+    /**
+     * Creates a detached copy of another task.
+     *
+     * @param other Task to copy
+     */
+    public Task(Task other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.priority = other.priority;
+        this.completed = other.completed;
+        this.inProgress = other.inProgress;
+        this.index = other.index;
+        this.plannedDuration = other.plannedDuration;
+        this.completionTime = other.completionTime;
+        this.modificationCount = other.modificationCount;
+        this.savedModificationCount = other.savedModificationCount;
+    }
+
+    /**
+     * Gets the stable id of this task.
+     * @return Task id, or 0 if none has been assigned yet
+     */
+    public long getId() { return id; }
+
+    /**
+     * Sets the stable id of this task.
+     * @param id Task id
+     */
+    public void setId(long id) {
+        if (this.id != id) {
+            this.id = id;
+            modificationCount++;
+        }
+    }
+
     /**
      * Gets the task's position index in the list.
      * @return Task index
@@ -52,7 +94,12 @@ public class Task {
      * Sets the planned duration for this task.
      * @param duration Duration in seconds
      */
-    public void setPlannedDuration(int duration) { this.plannedDuration = duration; }
+    public void setPlannedDuration(int duration) {
+        if (this.plannedDuration != duration) {
+            this.plannedDuration = duration;
+            modificationCount++;
+        }
+    }
 
     /**
      * Gets the completion time for this task.
@@ -64,7 +111,12 @@ public class Task {
      * Sets the completion time for this task.
      * @param completionTime Completion time
      */
-    public void setCompletionTime(LocalDateTime completionTime) { this.completionTime = completionTime; }
+    public void setCompletionTime(LocalDateTime completionTime) {
+        if (!Objects.equals(this.completionTime, completionTime)) {
+            this.completionTime = completionTime;
+            modificationCount++;
+        }
+    }
 
     /**
      * Gets the task name.
@@ -76,7 +128,12 @@ public class Task {
      * Sets the task name.
      * @param name Task name
      */
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) {
+        if (!Objects.equals(this.name, name)) {
+            this.name = name;
+            modificationCount++;
+        }
+    }
     
     /**
      * Gets the task priority.
@@ -88,7 +145,12 @@ public class Task {
      * Sets the task priority.
      * @param priority Task priority
      */
-    public void setPriority(int priority) { this.priority = priority; }
+    public void setPriority(int priority) {
+        if (this.priority != priority) {
+            this.priority = priority;
+            modificationCount++;
+        }
+    }
     
     /**
      * Checks if the task is completed.
@@ -100,7 +162,12 @@ public class Task {
      * Sets the task completion status.
      * @param completed Completion status
      */
-    public void setCompleted(boolean completed) { this.completed = completed; }
+    public void setCompleted(boolean completed) {
+        if (this.completed != completed) {
+            this.completed = completed;
+            modificationCount++;
+        }
+    }
     
     /**
      * Checks if the task is in progress.
@@ -112,5 +179,27 @@ public class Task {
      * Sets the task progress status.
      * @param inProgress Progress status
      */
-    public void setInProgress(boolean inProgress) { this.inProgress = inProgress; }
+    public void setInProgress(boolean inProgress) {
+        if (this.inProgress != inProgress) {
+            this.inProgress = inProgress;
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Gets the number of changes made to this task's persisted properties.
+     * @return Modification count
+     */
+    public long getModificationCount() { return modificationCount; }
+
+    /**
+     * Checks if the task changed since it was last marked as saved.
+     * @return True if changed or never saved, false otherwise
+     */
+    public boolean isModified() { return modificationCount != savedModificationCount; }
+
+    /**
+     * Marks the task's current state as saved.
+     */
+    public void markSaved() { savedModificationCount = modificationCount; }
 }
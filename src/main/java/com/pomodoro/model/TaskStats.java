@@ -3,15 +3,19 @@ package com.pomodoro.model;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Objects;
 
 /**
  * Stores statistics for a single task in the Pomodoro application.
  * Tracks total time spent and completion time for the task.
+ * Every change bumps a modification count, so the persistence layer can tell
+ * which statistics changed since they were last saved.
  */
 public class TaskStats {
     private final String taskName;
     private long totalTimeSpent; // in seconds
     private LocalDateTime completionTime;
+    private long modificationCount;
 
     /**
      * Creates new statistics for a task.
@@ -24,6 +28,18 @@ public class TaskStats {
         this.completionTime = null;
     }
 
+    /**
+     * Creates a detached copy of other statistics.
+     *
+     * @param other Statistics to copy
+     */
+    public TaskStats(TaskStats other) {
+        this.taskName = other.taskName;
+        this.totalTimeSpent = other.totalTimeSpent;
+        this.completionTime = other.completionTime;
+        this.modificationCount = other.modificationCount;
+    }
+
     /**
      * Records completion of a Pomodoro session for this task.
      *
@@ -33,6 +49,7 @@ public class TaskStats {
     public void addPomodoro(int duration, LocalDateTime completionTime) {
         totalTimeSpent += duration;
         this.completionTime = completionTime;
+        modificationCount++;
     }
 
     /** @return Name of the task */
@@ -56,7 +73,10 @@ public class TaskStats {
      * @param totalTimeSpent Time in seconds
      */
     public void setTotalTimeSpent(long totalTimeSpent) {
-        this.totalTimeSpent = totalTimeSpent;
+        if (this.totalTimeSpent != totalTimeSpent) {
+            this.totalTimeSpent = totalTimeSpent;
+            modificationCount++;
+        }
     }
 
     /** @return Time when the last Pomodoro was completed */
@@ -69,7 +89,15 @@ public class TaskStats {
      * @param completionTime Completion time to set
      */
     public void setCompletionTime(LocalDateTime completionTime) {
-        this.completionTime = completionTime;
+        if (!Objects.equals(this.completionTime, completionTime)) {
+            this.completionTime = completionTime;
+            modificationCount++;
+        }
+    }
+
+    /** @return Number of changes made to these statistics */
+    public long getModificationCount() {
+        return modificationCount;
     }
 
     /**
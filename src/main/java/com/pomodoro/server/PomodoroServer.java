@@ -0,0 +1,356 @@
+package com.pomodoro.server;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.pomodoro.di.ServiceContainer;
+import com.pomodoro.model.Task;
+import com.pomodoro.service.AnalyticsService;
+import com.pomodoro.service.JsonConverter;
+import com.pomodoro.service.PomodoroSession;
+import com.pomodoro.service.PomodoroTimerService;
+import com.pomodoro.service.TaskManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless HTTP server hosting the task lists of many tenants in one JVM.
+ * Every request runs on its own virtual thread, and each tenant's services
+ * come from a {@link TenantRegistry} with its own data directory. Starting a task
+ * starts the tenant's {@link PomodoroSession}, whose work and break phases are timed
+ * on a shared {@link PomodoroTimerService}: when work runs out the task is completed
+ * and the break begins.
+ *
+ * <pre>
+ * GET    /tenants/{tenant}/tasks[?filter=All|Active|Completed]
+ * POST   /tenants/{tenant}/tasks                  {"name": "...", "priority": 1}
+ * POST   /tenants/{tenant}/tasks/{id}/start|pause|complete|reset
+ * DELETE /tenants/{tenant}/tasks/{id}
+ * GET    /tenants/{tenant}/analytics
+ * </pre>
+ */
+public class PomodoroServer implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(PomodoroServer.class.getName());
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final TenantRegistry tenants;
+    private final PomodoroTimerService timers = new PomodoroTimerService();
+    // Countdown to the end of each tenant's current session phase
+    private final Map<String, PomodoroTimerService.Countdown> countdowns = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a server; call {@link #start()} to begin accepting requests.
+     *
+     * @param port Port to listen on, or 0 for any free port
+     * @param tenants Registry providing each tenant's services
+     * @throws IOException if the port cannot be bound
+     */
+    public PomodoroServer(int port, TenantRegistry tenants) throws IOException {
+        this.tenants = tenants;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/tenants/", this::handle);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        httpServer.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     * @return Bound port
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, then saves and closes every open tenant.
+     */
+    @Override
+    public void close() {
+        httpServer.stop(1);
+        executor.close();
+        timers.close();
+        tenants.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Response response;
+            try {
+                response = route(exchange);
+            } catch (IllegalArgumentException | JsonParseException e) {
+                response = Response.error(400, e.getMessage());
+            } catch (IllegalStateException e) {
+                response = Response.error(409, e.getMessage());
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE,
+                    "Request " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed", e);
+                response = Response.error(500, "Internal error");
+            }
+            send(exchange, response);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        URI uri = exchange.getRequestURI();
+        // "/tenants/{tenant}/..." splits into "", "tenants", tenant, ...
+        String[] path = uri.getPath().split("/");
+        if (path.length < 4 || !TenantRegistry.isValidTenantId(path[2])) {
+            return Response.error(404, "Not found");
+        }
+        String tenantId = path[2];
+        String resource = path[3];
+
+        if (resource.equals("analytics") && path.length == 4) {
+            return method.equals("GET")
+                ? tenants.withTenant(tenantId, PomodoroServer::analytics)
+                : Response.error(405, "Method not allowed");
+        }
+        if (!resource.equals("tasks")) {
+            return Response.error(404, "Not found");
+        }
+        if (path.length == 4) {
+            return switch (method) {
+                case "GET" -> {
+                    String filter = queryParameter(uri, "filter", "All");
+                    yield tenants.withTenant(tenantId, services -> listTasks(services.getTaskManager(), filter));
+                }
+                case "POST" -> {
+                    JsonObject body = readBody(exchange);
+                    yield tenants.withTenant(tenantId, services -> addTask(services.getTaskManager(), body));
+                }
+                default -> Response.error(405, "Method not allowed");
+            };
+        }
+        long taskId = parseTaskId(path[4]);
+        if (path.length == 5) {
+            return method.equals("DELETE")
+                ? tenants.withTenant(tenantId, services -> deleteTask(services.getTaskManager(), taskId))
+                : Response.error(405, "Method not allowed");
+        }
+        if (path.length == 6 && method.equals("POST")) {
+            String action = path[5];
+            return tenants.withTenant(tenantId, services -> changeTask(tenantId, services, taskId, action));
+        }
+        return Response.error(404, "Not found");
+    }
+
+    private static Response listTasks(TaskManager taskManager, String filter) {
+        return Response.json(200, out -> JsonConverter.writeTasks(taskManager.getFilteredTasks(filter), out));
+    }
+
+    private static Response addTask(TaskManager taskManager, JsonObject body) {
+        JsonElement name = body.get("name");
+        if (name == null || !name.isJsonPrimitive() || name.getAsString().isBlank()) {
+            throw new IllegalArgumentException("Task name is required");
+        }
+        int priority = 2; // Medium
+        JsonElement priorityElement = body.get("priority");
+        if (priorityElement != null && priorityElement.isJsonPrimitive()) {
+            priority = priorityElement.getAsJsonPrimitive().isNumber()
+                ? priorityElement.getAsInt()
+                : taskManager.getPriorityValue(priorityElement.getAsString());
+        }
+        taskManager.addTask(name.getAsString(), priority);
+        List<Task> all = taskManager.getFilteredTasks("All");
+        Task added = all.get(all.size() - 1);
+        return Response.json(201, out -> JsonConverter.writeTasks(List.of(added), out));
+    }
+
+    private static Response deleteTask(TaskManager taskManager, long taskId) {
+        Task task = taskManager.findTaskById(taskId);
+        if (task == null) {
+            return Response.error(404, "No task with id " + taskId);
+        }
+        taskManager.deleteTask(task);
+        return Response.empty(204);
+    }
+
+    private Response changeTask(String tenantId, ServiceContainer services, long taskId, String action) {
+        TaskManager taskManager = services.getTaskManager();
+        PomodoroSession session = services.getPomodoroSession();
+        Task task = taskManager.findTaskById(taskId);
+        if (task == null) {
+            return Response.error(404, "No task with id " + taskId);
+        }
+        boolean current = task == session.getCurrentTask();
+        switch (action) {
+            case "start" -> session.startWork(task);
+            case "pause" -> {
+                if (current) {
+                    session.pause();
+                } else {
+                    taskManager.pauseTask(task);
+                }
+            }
+            case "complete" -> {
+                if (current) {
+                    session.completeWork();
+                } else {
+                    taskManager.completeTask(task);
+                }
+            }
+            case "reset" -> {
+                if (current) {
+                    session.reset();
+                } else {
+                    taskManager.resetTask(task);
+                }
+            }
+            default -> {
+                return Response.error(404, "Unknown action " + action);
+            }
+        }
+        scheduleUpdate(tenantId, session);
+        return Response.json(200, out -> JsonConverter.writeTasks(List.of(task), out));
+    }
+
+    /**
+     * Replaces the tenant's countdown with one ending when its session's current phase does.
+     * Called with the tenant held.
+     */
+    private void scheduleUpdate(String tenantId, PomodoroSession session) {
+        PomodoroTimerService.Countdown previous = countdowns.remove(tenantId);
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (session.isRunning()) {
+            PomodoroTimerService.Phase phase = session.getPhase().isBreak()
+                ? PomodoroTimerService.Phase.BREAK
+                : PomodoroTimerService.Phase.WORK;
+            countdowns.put(tenantId, timers.start(phase, Duration.ofNanos(session.getRemainingNanos()),
+                ended -> phaseEnded(tenantId, ended)));
+        }
+    }
+
+    private void phaseEnded(String tenantId, PomodoroTimerService.Countdown countdown) {
+        tenants.withTenant(tenantId, services -> {
+            // A pause or restart in the meantime replaced or removed this countdown
+            if (countdowns.remove(tenantId, countdown)) {
+                PomodoroSession session = services.getPomodoroSession();
+                session.update();
+                scheduleUpdate(tenantId, session);
+            }
+            return null;
+        });
+    }
+
+    private static Response analytics(ServiceContainer services) {
+        AnalyticsService analytics = services.getAnalyticsService();
+        return Response.json(200, out ->
+            JsonConverter.writeAnalytics(analytics.getTaskStats(), analytics.getTotalPomodoros(), out));
+    }
+
+    private static long parseTaskId(String segment) {
+        try {
+            return Long.parseLong(segment);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid task id: " + segment);
+        }
+    }
+
+    private static String queryParameter(URI uri, String name, String defaultValue) {
+        String query = uri.getQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int equals = pair.indexOf('=');
+                if (equals > 0 && pair.substring(0, equals).equals(name)) {
+                    return pair.substring(equals + 1);
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    private static JsonObject readBody(HttpExchange exchange) throws IOException {
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            JsonElement body = JsonParser.parseReader(reader);
+            if (!body.isJsonObject()) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            return body.getAsJsonObject();
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        if (response.body.length == 0) {
+            exchange.sendResponseHeaders(response.status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(response.status, response.body.length);
+        exchange.getResponseBody().write(response.body);
+    }
+
+    /** Writes JSON to a writer. */
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(Writer out) throws IOException;
+    }
+
+    /**
+     * Status and encoded body of a response.
+     * Bodies are rendered while the tenant is held, so tasks cannot change mid-write.
+     */
+    private record Response(int status, byte[] body) {
+        static Response json(int status, JsonBody body) {
+            StringWriter out = new StringWriter();
+            try {
+                body.write(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Response(status, out.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Response error(int status, String message) {
+            JsonObject error = new JsonObject();
+            error.addProperty("error", message);
+            return new Response(status, error.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Response empty(int status) {
+            return new Response(status, new byte[0]);
+        }
+    }
+
+    /**
+     * Starts a server from the command line.
+     *
+     * @param port Port to listen on
+     * @param dataRoot Directory holding one subdirectory per tenant
+     * @param capacity Number of tenants kept open
+     * @return Running server, closed by a shutdown hook
+     * @throws IOException if the port cannot be bound
+     */
+    public static PomodoroServer launch(int port, Path dataRoot, int capacity) throws IOException {
+        PomodoroServer server = new PomodoroServer(port, new TenantRegistry(dataRoot, capacity));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "pomodoro-server-shutdown"));
+        server.start();
+        LOGGER.info(() -> "Pomodoro server listening on port " + server.getPort() + ", data in " + dataRoot);
+        return server;
+    }
+}
@@ -0,0 +1,230 @@
+package com.pomodoro.server;
+
+import com.pomodoro.di.ServiceContainer;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps one ServiceContainer per tenant, each with its own data directory under a root.
+ * Containers are opened on first use and the least recently used idle ones are saved
+ * and closed once more than {@code capacity} are open. A tenant is idle when no request
+ * is using it and its pomodoro session is not counting down. Work for a single tenant runs
+ * one request at a time, while different tenants proceed in parallel.
+ */
+public class TenantRegistry implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(TenantRegistry.class.getName());
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Path root;
+    private final int capacity;
+    private final Function<Path, ServiceContainer> factory;
+    // Access ordered, so iteration starts at the least recently used tenant
+    private final LinkedHashMap<String, Tenant> tenants = new LinkedHashMap<>(16, 0.75f, true);
+    // Tenants being closed; reopening one waits until its files are released
+    private final Map<String, CompletableFuture<Void>> closing = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates a registry of tenants stored under a root directory.
+     *
+     * @param root Directory holding one subdirectory per tenant
+     * @param capacity Number of tenants kept open before idle ones are evicted
+     */
+    public TenantRegistry(Path root, int capacity) {
+        this(root, capacity, ServiceContainer::new);
+    }
+
+    TenantRegistry(Path root, int capacity, Function<Path, ServiceContainer> factory) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.root = root;
+        this.capacity = capacity;
+        this.factory = factory;
+    }
+
+    /**
+     * Checks whether a string may be used as a tenant id.
+     * Ids become directory names, so only letters, digits, '-' and '_' are allowed.
+     *
+     * @param tenantId Candidate id
+     * @return True if the id is valid
+     */
+    public static boolean isValidTenantId(String tenantId) {
+        return tenantId != null && TENANT_ID.matcher(tenantId).matches();
+    }
+
+    /**
+     * Runs work against a tenant's services, opening them if needed.
+     * Calls for the same tenant are serialized; the tenant cannot be evicted while in use.
+     *
+     * @param tenantId Tenant id
+     * @param work Work to run with the tenant's services
+     * @return Result of the work
+     * @throws IllegalArgumentException if the tenant id is invalid
+     */
+    public <T> T withTenant(String tenantId, Function<ServiceContainer, T> work) {
+        if (!isValidTenantId(tenantId)) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenantId);
+        }
+        Tenant tenant = acquire(tenantId);
+        try {
+            tenant.lock.lock();
+            try {
+                if (tenant.services == null) {
+                    tenant.services = factory.apply(root.resolve(tenantId));
+                }
+                return work.apply(tenant.services);
+            } finally {
+                tenant.lock.unlock();
+            }
+        } finally {
+            release(tenant);
+        }
+    }
+
+    /**
+     * Gets the number of tenants currently open.
+     * @return Open tenant count
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return tenants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether a tenant is currently open.
+     *
+     * @param tenantId Tenant id
+     * @return True if the tenant's services are held in memory
+     */
+    public boolean isOpen(String tenantId) {
+        lock.lock();
+        try {
+            return tenants.containsKey(tenantId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saves and closes every open tenant.
+     */
+    @Override
+    public void close() {
+        List<Tenant> open;
+        lock.lock();
+        try {
+            open = new ArrayList<>(tenants.values());
+            tenants.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (Tenant tenant : open) {
+            closeTenant(tenant);
+        }
+    }
+
+    private Tenant acquire(String tenantId) {
+        while (true) {
+            CompletableFuture<Void> pendingClose;
+            lock.lock();
+            try {
+                pendingClose = closing.get(tenantId);
+                if (pendingClose == null) {
+                    Tenant tenant = tenants.computeIfAbsent(tenantId, Tenant::new);
+                    tenant.users++;
+                    return tenant;
+                }
+            } finally {
+                lock.unlock();
+            }
+            pendingClose.join();
+        }
+    }
+
+    private void release(Tenant tenant) {
+        List<Tenant> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            tenant.users--;
+            Iterator<Tenant> eldest = tenants.values().iterator();
+            int excess = tenants.size() - capacity;
+            while (excess > 0 && eldest.hasNext()) {
+                Tenant candidate = eldest.next();
+                if (candidate.users == 0 && !candidate.isTiming()) {
+                    eldest.remove();
+                    closing.put(candidate.id, new CompletableFuture<>());
+                    evicted.add(candidate);
+                    excess--;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Saving can take a while, so it happens outside the registry lock
+        for (Tenant candidate : evicted) {
+            try {
+                closeTenant(candidate);
+            } finally {
+                CompletableFuture<Void> done;
+                lock.lock();
+                try {
+                    done = closing.remove(candidate.id);
+                } finally {
+                    lock.unlock();
+                }
+                done.complete(null);
+            }
+        }
+    }
+
+    private static void closeTenant(Tenant tenant) {
+        tenant.lock.lock();
+        try {
+            if (tenant.services != null) {
+                tenant.services.close();
+                tenant.services = null;
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Could not close tenant " + tenant.id, e);
+        } finally {
+            tenant.lock.unlock();
+        }
+    }
+
+    /** One tenant's services and bookkeeping. */
+    private static final class Tenant {
+        private final String id;
+        // Locks rather than synchronized so waiting virtual threads do not pin their carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private ServiceContainer services;
+        private int users; // Guarded by the registry lock
+
+        private Tenant(String id) {
+            this.id = id;
+        }
+
+        /** Checks whether the tenant's session is counting down, or cannot be checked right now. */
+        private boolean isTiming() {
+            if (!lock.tryLock()) {
+                return true;
+            }
+            try {
+                return services != null && services.getPomodoroSession().isRunning();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.pomodoro.service;
 
 import com.pomodoro.model.*;
-import java.time.LocalDateTime;
+import java.time.*;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Manages analytics data for the Pomodoro application.
  * Tracks task statistics and total completed Pomodoros.
+ * Every session is kept only in the memory-mapped {@link SessionStore}. Recording a
+ * session also bumps its day, week and month counters in a {@link TimeBucketRollup},
+ * which the per-period charts read; the hour and day-of-week histograms aggregate
+ * straight over the stored records, so no session is copied to the heap.
+ * Every change publishes a new immutable {@link TaskStatsSnapshot} with the next stats
+ * version, which listeners and readers share without copying. {@link #snapshot()}
+ * only holds a read lock while it captures the stats and the stored sessions, then
+ * aggregates without it, so views can compute it on a background thread while sessions
+ * are being recorded. The previous result is reused while the version is unchanged.
  */
 public class AnalyticsService {
     private final DataManager dataManager;
-    private List<AnalyticsListener> listeners = new ArrayList<>();
-    private Map<String, TaskStats> taskStats = new HashMap<>();
-    private int totalPomodoros = 0;
+    private final SessionStore sessionStore;
+    private final TimeBucketRollup rollup = new TimeBucketRollup();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<AnalyticsListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile TaskStatsSnapshot taskStats = TaskStatsSnapshot.of(Map.of(), 0);
+    private final AtomicReference<AnalyticsSnapshot> cachedSnapshot = new AtomicReference<>();
 
     /**
      * Creates a new AnalyticsService instance.
@@ -21,6 +36,7 @@ public class AnalyticsService {
      */
     public AnalyticsService(DataManager dataManager) {
         this.dataManager = dataManager;
+        this.sessionStore = dataManager.getSessionStore();
         loadAnalytics();
     }
 
@@ -31,7 +47,7 @@ public class AnalyticsService {
         /**
          * Called when statistics are updated.
          *
-         * @param stats Updated task statistics
+         * @param stats Updated task statistics, an immutable snapshot shared by all listeners
          * @param totalPomodoros Total completed Pomodoros
          */
         void onStatsUpdated(Map<String, TaskStats> stats, int totalPomodoros);
@@ -48,43 +64,181 @@ public class AnalyticsService {
 
     /**
      * Records completion of a Pomodoro session.
+     * A task without a completion time is recorded as completed now, and a session never
+     * ends before the last one stored, even if the clock went back; the statistics,
+     * the session store and the journal all get the same time.
      *
      * @param task Completed task
      * @param duration Duration of the Pomodoro
      */
     public void recordPomodoro(Task task, int duration) {
-        TaskStats stats = taskStats.computeIfAbsent(
-            task.getName(), 
-            TaskStats::new
-        );
-        stats.addPomodoro(duration, task.getCompletionTime());
-        totalPomodoros++;
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime completionTime = task.getCompletionTime() != null
+            ? task.getCompletionTime()
+            : LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            // Sessions are stored in completion order
+            long completionEpoch = completionTime.atZone(zone).toEpochSecond();
+            long lastEpoch = sessionStore.getLastCompletionEpoch();
+            if (completionEpoch < lastEpoch) {
+                completionEpoch = lastEpoch;
+                completionTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(lastEpoch), zone);
+            }
+            // Only this task's statistics are copied; the rest are shared with the previous snapshot
+            TaskStats previous = taskStats.get(task.getName());
+            TaskStats stats = previous != null ? new TaskStats(previous) : new TaskStats(task.getName());
+            stats.addPomodoro(duration, completionTime);
+            int taskId = sessionStore.taskId(task.getName());
+            sessionStore.append(taskId, completionEpoch - duration, duration, completionEpoch);
+            rollup.add(completionEpoch, duration);
+            taskStats = taskStats.with(stats, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
         notifyListeners();
-        saveAnalytics();
+        dataManager.appendAnalyticsRecord(
+            JournalRecord.pomodoroRecorded(task.getName(), duration, completionTime)
+        );
     }
 
-    public Map<String, TaskStats> getTaskStats() {
-        return new HashMap<>(taskStats);
+    /**
+     * Gets the current task statistics. The snapshot is immutable and shared, so it is
+     * returned without copying and stays unchanged when further sessions are recorded.
+     *
+     * @return Statistics by task name
+     */
+    public TaskStatsSnapshot getTaskStats() {
+        return taskStats;
     }
 
     public int getTotalPomodoros() {
-        return totalPomodoros;
+        return taskStats.getTotalPomodoros();
+    }
+
+    /**
+     * Gets the stats version, which changes whenever a session is recorded.
+     * @return Current stats version
+     */
+    public long getVersion() {
+        return taskStats.getVersion();
+    }
+
+    /**
+     * Aggregates everything the analytics views show into an immutable snapshot.
+     * May be called from any thread. The result is cached and returned again until
+     * the stats version or the current date changes.
+     *
+     * @return Snapshot of the current analytics
+     */
+    public AnalyticsSnapshot snapshot() {
+        LocalDate today = LocalDate.now();
+        AnalyticsSnapshot cached = cachedSnapshot.get();
+        if (cached != null && cached.getVersion() == taskStats.getVersion() && cached.getToday().equals(today)) {
+            return cached;
+        }
+        TaskStatsSnapshot stats;
+        CompletedSessions sessions;
+        EnumMap<PeriodBucket, AnalyticsSnapshot.Series> series = new EnumMap<>(PeriodBucket.class);
+        // The lock keeps the stats, sessions and counters in step; copying the counters is
+        // proportional to the buckets charted, so recording never waits on a full scan
+        lock.readLock().lock();
+        try {
+            stats = taskStats;
+            sessions = sessionStore.view();
+            for (PeriodBucket period : PeriodBucket.values()) {
+                AnalyticsSnapshot.Series periodSeries = rollup.toSeries(period, today);
+                if (periodSeries != null) {
+                    series.put(period, periodSeries);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // The trend histograms come from one parallel pass over the stored sessions
+        SessionAggregation aggregation = SessionAggregation.aggregate(sessions, ZoneId.systemDefault());
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot(stats.getVersion(), today, stats.values(), stats.getTotalPomodoros(),
+            aggregation.getSessionsByHour(), aggregation.getSessionsByDayOfWeek(), series);
+        // A slower caller that aggregated an older version must not replace a newer result
+        cachedSnapshot.accumulateAndGet(snapshot, (current, candidate) ->
+            current == null || current.getVersion() <= candidate.getVersion() ? candidate : current);
+        return snapshot;
+    }
+
+    /**
+     * Gets every session recorded so far. The view reads the memory-mapped store and
+     * does not include sessions recorded after it was taken.
+     *
+     * @return Session history
+     */
+    public CompletedSessions getSessionHistory() {
+        return sessionStore.view();
+    }
+
+    /**
+     * Gets the name of the task a session belongs to.
+     *
+     * @param taskId Task id from the session history
+     * @return Task name, or null if the id is unknown
+     */
+    public String getTaskName(int taskId) {
+        return sessionStore.getTaskName(taskId);
+    }
+
+    /**
+     * Counts sessions by the local hour of day they were completed in.
+     *
+     * @return Array of 24 counters indexed by hour
+     */
+    public long[] getSessionsByHour() {
+        return snapshot().getSessionsByHour();
+    }
+
+    /**
+     * Counts sessions by the local day of week they were completed on.
+     *
+     * @return Array of 7 counters indexed from Monday (0) to Sunday (6)
+     */
+    public long[] getSessionsByDayOfWeek() {
+        return snapshot().getSessionsByDayOfWeek();
     }
 
     private void notifyListeners() {
+        // Every listener gets the same published snapshot
+        TaskStatsSnapshot stats = taskStats;
         for (AnalyticsListener listener : listeners) {
-            listener.onStatsUpdated(getTaskStats(), totalPomodoros);
+            listener.onStatsUpdated(stats, stats.getTotalPomodoros());
         }
     }
 
     private void loadAnalytics() {
         AnalyticsData data = dataManager.loadAnalytics();
-        this.taskStats = new HashMap<>(data.getTaskStats());
-        this.totalPomodoros = data.getTotalPomodoros();
+        this.taskStats = TaskStatsSnapshot.of(data.getTaskStats(), data.getTotalPomodoros());
+        if (sessionStore.size() == 0) {
+            importLegacySessions();
+        }
+        sessionStore.scan((taskId, startEpoch, duration, completionEpoch) -> rollup.add(completionEpoch, duration));
         notifyListeners();
     }
 
+    /**
+     * Seeds an empty session store from statistics saved before sessions were recorded.
+     * Only the last completion of each task is known, so it becomes one session.
+     */
+    private void importLegacySessions() {
+        taskStats.values().stream()
+            .filter(stats -> stats.getCompletionTime() != null)
+            .sorted(Comparator.comparing(TaskStats::getCompletionTime))
+            .forEach(stats -> {
+                long completionEpoch = stats.getCompletionTime().atZone(ZoneId.systemDefault()).toEpochSecond();
+                int duration = (int) Math.min(stats.getTotalTimeSpent(), Integer.MAX_VALUE);
+                sessionStore.append(sessionStore.taskId(stats.getTaskName()),
+                    completionEpoch - duration, duration, completionEpoch);
+            });
+    }
+
     public void saveAnalytics() {
-        dataManager.saveAnalytics(taskStats, totalPomodoros);
+        TaskStatsSnapshot stats = taskStats;
+        dataManager.saveAnalytics(stats, stats.getTotalPomodoros());
     }
 }
@@ -0,0 +1,90 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.TaskStats;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of aggregating the analytics at one stats version.
+ * Built off the event thread by {@link AnalyticsService#snapshot()} and safe to hand
+ * to any thread; nothing in it changes when further sessions are recorded.
+ */
+public final class AnalyticsSnapshot {
+    private final long version;
+    private final LocalDate today;
+    private final List<TaskStats> taskStats;
+    private final int totalPomodoros;
+    private final long[] sessionsByHour;
+    private final long[] sessionsByDayOfWeek;
+    private final Map<PeriodBucket, Series> series;
+
+    AnalyticsSnapshot(long version, LocalDate today, Collection<TaskStats> taskStats, int totalPomodoros,
+                      long[] sessionsByHour, long[] sessionsByDayOfWeek, EnumMap<PeriodBucket, Series> series) {
+        this.version = version;
+        this.today = today;
+        this.taskStats = List.copyOf(taskStats);
+        this.totalPomodoros = totalPomodoros;
+        this.sessionsByHour = sessionsByHour;
+        this.sessionsByDayOfWeek = sessionsByDayOfWeek;
+        this.series = series;
+    }
+
+    /** @return Stats version the snapshot was built from */
+    public long getVersion() { return version; }
+
+    /** @return Date the per-period series end on */
+    public LocalDate getToday() { return today; }
+
+    /** @return Per-task statistics, shared with the {@link TaskStatsSnapshot} they came from */
+    public List<TaskStats> getTaskStats() { return taskStats; }
+
+    /** @return Total completed Pomodoros */
+    public int getTotalPomodoros() { return totalPomodoros; }
+
+    /** @return Sessions per local hour of day, 24 counters */
+    public long[] getSessionsByHour() { return sessionsByHour.clone(); }
+
+    /** @return Sessions per local day of week from Monday, 7 counters */
+    public long[] getSessionsByDayOfWeek() { return sessionsByDayOfWeek.clone(); }
+
+    /**
+     * Gets the session counts per bucket from the earliest session up to today.
+     *
+     * @param period Bucket size
+     * @return Series of counts, or null if no session was recorded
+     */
+    public Series getSeries(PeriodBucket period) { return series.get(period); }
+
+    /**
+     * Session counts for a contiguous range of buckets.
+     */
+    public static final class Series {
+        private final long firstBucket;
+        private final int[] counts;
+
+        Series(long firstBucket, int[] counts) {
+            this.firstBucket = firstBucket;
+            this.counts = counts;
+        }
+
+        /** @return Id of the first bucket */
+        public long getFirstBucket() { return firstBucket; }
+
+        /** @return Id of the last bucket */
+        public long getLastBucket() { return firstBucket + counts.length - 1; }
+
+        /**
+         * Gets the number of sessions in a bucket.
+         *
+         * @param bucket Bucket id
+         * @return Number of sessions, 0 outside the series
+         */
+        public int getCount(long bucket) {
+            long index = bucket - firstBucket;
+            return index >= 0 && index < counts.length ? counts[(int) index] : 0;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.*;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Handles the compact binary snapshot format for tasks and analytics data.
+ * Files start with a magic number, a format version and the sequence of the last
+ * journal record folded into the snapshot. Strings are stored as
+ * length-prefixed UTF-8, times as epoch seconds and boolean fields as packed flag bytes.
+ */
+public class BinaryConverter {
+    private static final int TASKS_MAGIC = 0x504F4D54; // "POMT"
+    private static final int ANALYTICS_MAGIC = 0x504F4D41; // "POMA"
+    private static final int VERSION = 3;
+    /** First version that stores task ids. */
+    private static final int VERSION_TASK_IDS = 2;
+    /** First version that stores the journal sequence. */
+    private static final int VERSION_JOURNAL_SEQUENCE = 3;
+
+    private static final int FLAG_COMPLETED = 1;
+    private static final int FLAG_IN_PROGRESS = 1 << 1;
+    private static final int FLAG_HAS_COMPLETION_TIME = 1 << 2;
+
+    /**
+     * Writes a list of tasks in binary format, without a journal sequence.
+     *
+     * @param tasks List of tasks to write
+     * @param out Stream receiving the data
+     * @throws IOException if writing fails
+     */
+    public static void writeTasks(List<Task> tasks, OutputStream out) throws IOException {
+        writeTasks(tasks, SessionJournal.UNKNOWN_SEQUENCE, out);
+    }
+
+    /**
+     * Writes a list of tasks in binary format.
+     *
+     * @param tasks List of tasks to write
+     * @param journalSequence Sequence of the last journal record the tasks contain
+     * @param out Stream receiving the data
+     * @throws IOException if writing fails
+     */
+    public static void writeTasks(List<Task> tasks, long journalSequence, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        writeHeader(data, TASKS_MAGIC, journalSequence);
+        data.writeInt(tasks.size());
+        for (Task task : tasks) {
+            data.writeLong(task.getId());
+            writeString(data, task.getName());
+            data.writeInt(task.getPriority());
+            data.writeInt(task.getIndex());
+            data.writeInt(task.getPlannedDuration());
+            int flags = (task.isCompleted() ? FLAG_COMPLETED : 0)
+                | (task.isInProgress() ? FLAG_IN_PROGRESS : 0)
+                | (task.getCompletionTime() != null ? FLAG_HAS_COMPLETION_TIME : 0);
+            data.writeByte(flags);
+            if (task.getCompletionTime() != null) {
+                data.writeLong(toEpochSecond(task.getCompletionTime()));
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads tasks from a binary file.
+     *
+     * @param file File to read
+     * @return List of Task objects
+     * @throws IOException if the file cannot be read or has an unknown format
+     */
+    public static List<Task> readTasks(Path file) throws IOException {
+        return readTasksSnapshot(file).data();
+    }
+
+    /**
+     * Reads tasks from a binary file together with the snapshot's journal sequence.
+     *
+     * @param file File to read
+     * @return Tasks and journal sequence
+     * @throws IOException if the file cannot be read or has an unknown format
+     */
+    static SnapshotFile<List<Task>> readTasksSnapshot(Path file) throws IOException {
+        try (DataInputStream data = openInput(file)) {
+            int version = readHeader(data, TASKS_MAGIC, file);
+            long journalSequence = readJournalSequence(data, version);
+            int count = data.readInt();
+            List<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = version >= VERSION_TASK_IDS ? data.readLong() : 0;
+                Task task = new Task(readString(data), data.readInt());
+                task.setId(id);
+                task.setIndex(data.readInt());
+                task.setPlannedDuration(data.readInt());
+                int flags = data.readUnsignedByte();
+                task.setCompleted((flags & FLAG_COMPLETED) != 0);
+                task.setInProgress((flags & FLAG_IN_PROGRESS) != 0);
+                if ((flags & FLAG_HAS_COMPLETION_TIME) != 0) {
+                    task.setCompletionTime(fromEpochSecond(data.readLong()));
+                }
+                tasks.add(task);
+            }
+            return new SnapshotFile<>(tasks, journalSequence);
+        }
+    }
+
+    /**
+     * Writes analytics data in binary format, without a journal sequence.
+     *
+     * @param taskStats Map of task statistics to write
+     * @param totalPomodoros Total number of pomodoros
+     * @param out Stream receiving the data
+     * @throws IOException if writing fails
+     */
+    public static void writeAnalytics(Map<String, TaskStats> taskStats, int totalPomodoros, OutputStream out)
+            throws IOException {
+        writeAnalytics(taskStats, totalPomodoros, SessionJournal.UNKNOWN_SEQUENCE, out);
+    }
+
+    /**
+     * Writes analytics data in binary format.
+     *
+     * @param taskStats Map of task statistics to write
+     * @param totalPomodoros Total number of pomodoros
+     * @param journalSequence Sequence of the last journal record the data contains
+     * @param out Stream receiving the data
+     * @throws IOException if writing fails
+     */
+    public static void writeAnalytics(Map<String, TaskStats> taskStats, int totalPomodoros, long journalSequence,
+                                      OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        writeHeader(data, ANALYTICS_MAGIC, journalSequence);
+        data.writeInt(totalPomodoros);
+        data.writeInt(taskStats.size());
+        for (Map.Entry<String, TaskStats> entry : taskStats.entrySet()) {
+            TaskStats stats = entry.getValue();
+            writeString(data, entry.getKey());
+            data.writeLong(stats.getTotalTimeSpent());
+            data.writeByte(stats.getCompletionTime() != null ? FLAG_HAS_COMPLETION_TIME : 0);
+            if (stats.getCompletionTime() != null) {
+                data.writeLong(toEpochSecond(stats.getCompletionTime()));
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads analytics data from a binary file.
+     *
+     * @param file File to read
+     * @return Analytics data
+     * @throws IOException if the file cannot be read or has an unknown format
+     */
+    public static AnalyticsData readAnalytics(Path file) throws IOException {
+        return readAnalyticsSnapshot(file).data();
+    }
+
+    /**
+     * Reads analytics data from a binary file together with the snapshot's journal sequence.
+     *
+     * @param file File to read
+     * @return Analytics data and journal sequence
+     * @throws IOException if the file cannot be read or has an unknown format
+     */
+    static SnapshotFile<AnalyticsData> readAnalyticsSnapshot(Path file) throws IOException {
+        try (DataInputStream data = openInput(file)) {
+            int version = readHeader(data, ANALYTICS_MAGIC, file);
+            long journalSequence = readJournalSequence(data, version);
+            int totalPomodoros = data.readInt();
+            int count = data.readInt();
+            Map<String, TaskStats> taskStats = new HashMap<>(Math.max(16, count * 4 / 3 + 1));
+            for (int i = 0; i < count; i++) {
+                String name = readString(data);
+                TaskStats stats = new TaskStats(name);
+                stats.setTotalTimeSpent(data.readLong());
+                int flags = data.readUnsignedByte();
+                if ((flags & FLAG_HAS_COMPLETION_TIME) != 0) {
+                    stats.setCompletionTime(fromEpochSecond(data.readLong()));
+                }
+                taskStats.put(name, stats);
+            }
+            return new SnapshotFile<>(new AnalyticsData(taskStats, totalPomodoros), journalSequence);
+        }
+    }
+
+    /**
+     * Reads only the journal sequence from the header of a binary snapshot.
+     *
+     * @param file File to read
+     * @return Journal sequence, or {@link SessionJournal#UNKNOWN_SEQUENCE} if the file predates sequences
+     * @throws IOException if the file cannot be read or has an unknown format
+     */
+    static long readJournalSequence(Path file) throws IOException {
+        try (DataInputStream data = openInput(file)) {
+            int magic = data.readInt();
+            if (magic != TASKS_MAGIC && magic != ANALYTICS_MAGIC) {
+                throw new IOException("Not a Pomodoro data file: " + file);
+            }
+            int version = data.readUnsignedByte();
+            if (version > VERSION) {
+                throw new IOException("Unsupported format version " + version + " in " + file);
+            }
+            return readJournalSequence(data, version);
+        }
+    }
+
+    private static DataInputStream openInput(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+    }
+
+    private static void writeHeader(DataOutputStream data, int magic, long journalSequence) throws IOException {
+        data.writeInt(magic);
+        data.writeByte(VERSION);
+        data.writeLong(journalSequence);
+    }
+
+    private static long readJournalSequence(DataInputStream data, int version) throws IOException {
+        return version >= VERSION_JOURNAL_SEQUENCE ? data.readLong() : SessionJournal.UNKNOWN_SEQUENCE;
+    }
+
+    private static int readHeader(DataInputStream data, int magic, Path file) throws IOException {
+        if (data.readInt() != magic) {
+            throw new IOException("Not a Pomodoro data file: " + file);
+        }
+        int version = data.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Unsupported format version " + version + " in " + file);
+        }
+        return version;
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,126 @@
+package com.pomodoro.service;
+
+/**
+ * Countdown measured against a deadline on a monotonic clock.
+ * Remaining time is always computed from the deadline, so late or coalesced UI
+ * refreshes, GC pauses and a busy event thread never stretch the countdown;
+ * they only delay when the display catches up.
+ */
+public class CountdownTimer {
+    private static final long SECOND = 1_000_000_000L;
+
+    private final MonotonicClock clock;
+    private boolean running;
+    private long deadline;         // Clock reading at which the countdown ends, while running
+    private long remainingNanos;   // Time left, while stopped
+
+    /**
+     * Creates a stopped countdown on the system clock.
+     */
+    public CountdownTimer() {
+        this(MonotonicClock.SYSTEM);
+    }
+
+    /**
+     * Creates a stopped countdown.
+     *
+     * @param clock Monotonic clock to measure against
+     */
+    public CountdownTimer(MonotonicClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Starts counting down from a duration, replacing any countdown in progress.
+     *
+     * @param seconds Duration in seconds
+     */
+    public void start(int seconds) {
+        reset(seconds);
+        resume();
+    }
+
+    /**
+     * Stops the countdown and sets the time left without starting it.
+     *
+     * @param seconds Time left in seconds
+     */
+    public void reset(int seconds) {
+        running = false;
+        remainingNanos = seconds * SECOND;
+    }
+
+    /**
+     * Stops the countdown, keeping the time left.
+     */
+    public void pause() {
+        if (running) {
+            remainingNanos = getRemainingNanos();
+            running = false;
+        }
+    }
+
+    /**
+     * Continues a paused countdown from the time it had left.
+     */
+    public void resume() {
+        if (!running && remainingNanos > 0) {
+            deadline = clock.nanoTime() + remainingNanos;
+            running = true;
+        }
+    }
+
+    /**
+     * Checks whether the countdown is running.
+     * @return True between start or resume and pause, reset or reaching zero
+     */
+    public boolean isRunning() {
+        if (running && deadline - clock.nanoTime() <= 0) {
+            running = false;
+            remainingNanos = 0;
+        }
+        return running;
+    }
+
+    /**
+     * Checks whether the countdown has reached zero.
+     * @return True once no time is left
+     */
+    public boolean isFinished() {
+        return getRemainingNanos() == 0;
+    }
+
+    /**
+     * Gets the exact time left.
+     * @return Time left in nanoseconds, never negative
+     */
+    public long getRemainingNanos() {
+        return running ? Math.max(0, deadline - clock.nanoTime()) : remainingNanos;
+    }
+
+    /**
+     * Gets the time left as shown on a display, rounded up to whole seconds.
+     * A countdown started at 25:00 shows 25:00 until a full second has passed
+     * and shows 00:00 only once it has finished.
+     *
+     * @return Time left in seconds
+     */
+    public int getRemainingSeconds() {
+        return (int) Math.ceilDiv(getRemainingNanos(), SECOND);
+    }
+
+    /**
+     * Gets the time until the displayed seconds next change, so the display can be refreshed
+     * on whole-second boundaries of the countdown instead of on a fixed period that drifts.
+     *
+     * @return Nanoseconds until {@link #getRemainingSeconds()} changes, or 0 if finished
+     */
+    public long nanosUntilNextSecond() {
+        long remaining = getRemainingNanos();
+        if (remaining == 0) {
+            return 0;
+        }
+        long partial = remaining % SECOND;
+        return partial == 0 ? SECOND : partial;
+    }
+}
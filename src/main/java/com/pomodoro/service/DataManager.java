@@ -1,122 +1,724 @@
 package com.pomodoro.service;
 
+import com.google.gson.JsonParseException;
 import com.pomodoro.model.*;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Manages persistence of application data.
- * Handles saving and loading of tasks, settings, and analytics data to/from files.
+ * Tasks and analytics are stored as a snapshot plus a journal of the changes made since,
+ * in JSON or binary form (see {@link StorageFormat}); loading replays the journal on top
+ * of the snapshot. Writes run on a single persistence thread and are batched as the
+ * {@link PersistencePolicy} allows; saving unchanged data writes nothing.
+ * Each instance owns one data directory; call {@link #close()} when done with it.
  */
-public class DataManager {
+public class DataManager implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(DataManager.class.getName());
     private static final String DATA_DIR = "pomodoro_data";
-    private static final String TASKS_FILE = "tasks.json";
+    private static final String TASKS_NAME = "tasks";
+    private static final String ANALYTICS_NAME = "analytics";
     private static final String SETTINGS_FILE = "settings.json";
-    private static final String ANALYTICS_FILE = "analytics.json";
-    
+    private static final String TASKS_JOURNAL_FILE = "tasks.journal";
+    private static final String ANALYTICS_JOURNAL_FILE = "analytics.journal";
+    private static final String SESSIONS_FILE = "sessions.dat";
+    private static final int COMPACTION_THRESHOLD = 500;
+    private static final int UNKNOWN_COUNT = -1;
+
+    private final Path dataDir;
+    private final StorageFormat format;
+    private final SessionJournal tasksJournal;
+    private final SessionJournal analyticsJournal;
+    private final PendingStore tasksStore;
+    private final PendingStore analyticsStore;
+    private final PendingStore settingsStore;
+    private SessionStore sessionStore;
+    // Shape of the data on disk once pending writes land, guarded by the matching store
+    private int savedTaskCount;
+    private int savedTotalPomodoros;
+    // Modification count of each task's statistics as handed over, guarded by analyticsStore
+    private final Map<String, Long> savedStatsVersions = new HashMap<>();
+    // A virtual thread keeps an idle data directory cheap when many are open at once
+    private final ExecutorService persistenceExecutor = Executors.newSingleThreadExecutor(
+        Thread.ofVirtual().name("pomodoro-persistence").factory());
+    private final PersistencePolicy policy;
+    // Runs batched writes on the persistence thread once the policy's delay has passed
+    private final Executor flushTimer;
+
     /**
-     * Creates a new DataManager and ensures data directory exists.
+     * Creates a new DataManager using the configured storage format
+     * and ensures data directory exists.
      */
     public DataManager() {
+        this(Path.of(DATA_DIR), StorageFormat.configured());
+    }
+
+    /**
+     * Creates a new DataManager using the given storage format
+     * and ensures data directory exists.
+     *
+     * @param format Format of task and analytics snapshots
+     */
+    public DataManager(StorageFormat format) {
+        this(Path.of(DATA_DIR), format);
+    }
+
+    /**
+     * Creates a new DataManager storing its files in the given directory,
+     * using the configured storage format, and ensures the directory exists.
+     *
+     * @param dataDir Directory holding this manager's files
+     */
+    public DataManager(Path dataDir) {
+        this(dataDir, StorageFormat.configured());
+    }
+
+    /**
+     * Creates a new DataManager storing its files in the given directory
+     * and ensures the directory exists.
+     *
+     * @param dataDir Directory holding this manager's files
+     * @param format Format of task and analytics snapshots
+     */
+    public DataManager(Path dataDir, StorageFormat format) {
+        this(dataDir, format, PersistencePolicy.configured());
+    }
+
+    /**
+     * Creates a new DataManager storing its files in the given directory
+     * and ensures the directory exists.
+     *
+     * @param dataDir Directory holding this manager's files
+     * @param format Format of task and analytics snapshots
+     * @param policy When changes are written to disk
+     */
+    public DataManager(Path dataDir, StorageFormat format, PersistencePolicy policy) {
+        this.dataDir = dataDir;
+        this.format = format;
+        this.policy = policy;
+        this.flushTimer = CompletableFuture.delayedExecutor(
+            policy.getMaxDelay().toMillis(), TimeUnit.MILLISECONDS, persistenceExecutor);
         createDataDirectory();
+        this.tasksJournal = new SessionJournal(dataDir.resolve(TASKS_JOURNAL_FILE));
+        this.analyticsJournal = new SessionJournal(dataDir.resolve(ANALYTICS_JOURNAL_FILE));
+        this.tasksStore = new PendingStore(snapshotFile(TASKS_NAME, format), tasksJournal);
+        this.analyticsStore = new PendingStore(snapshotFile(ANALYTICS_NAME, format), analyticsJournal);
+        this.settingsStore = new PendingStore(dataDir.resolve(SETTINGS_FILE), null);
+        if (format == StorageFormat.BINARY) {
+            migrateFromJson();
+        }
+        // New records must sort after everything already on disk, including records a snapshot folded in
+        tasksStore.sequence = Math.max(0,
+            Math.max(readJournalSequence(tasksStore.file), tasksJournal.readLastSequence()));
+        analyticsStore.sequence = Math.max(0,
+            Math.max(readJournalSequence(analyticsStore.file), analyticsJournal.readLastSequence()));
     }
-    
+
+    /**
+     * Gets the format used for task and analytics snapshots.
+     * @return Storage format
+     */
+    public StorageFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Gets the directory holding this manager's files.
+     * @return Data directory
+     */
+    public Path getDataDir() {
+        return dataDir;
+    }
+
+    private Path snapshotFile(String name, StorageFormat format) {
+        return dataDir.resolve(name + format.getExtension());
+    }
+
+    /**
+     * Converts JSON snapshots to the binary format when no binary snapshot exists yet.
+     * The JSON files are left in place.
+     */
+    private void migrateFromJson() {
+        Path jsonTasks = snapshotFile(TASKS_NAME, StorageFormat.JSON);
+        Path jsonAnalytics = snapshotFile(ANALYTICS_NAME, StorageFormat.JSON);
+        try {
+            if (!Files.exists(tasksStore.file) && Files.exists(jsonTasks)) {
+                SnapshotFile<List<Task>> tasks = JsonConverter.readTasksSnapshot(jsonTasks);
+                writeAtomically(tasksStore.file,
+                    out -> BinaryConverter.writeTasks(tasks.data(), tasks.journalSequence(), out));
+            }
+            if (!Files.exists(analyticsStore.file) && Files.exists(jsonAnalytics)) {
+                SnapshotFile<AnalyticsData> analytics = JsonConverter.readAnalyticsSnapshot(jsonAnalytics);
+                AnalyticsData data = analytics.data();
+                writeAtomically(analyticsStore.file, out -> BinaryConverter.writeAnalytics(
+                    data.getTaskStats(), data.getTotalPomodoros(), analytics.journalSequence(), out));
+            }
+        } catch (IOException | JsonParseException e) {
+            LOGGER.log(Level.WARNING, "Could not migrate JSON data in " + dataDir + " to binary format", e);
+        }
+    }
+
+    /**
+     * Reads the journal sequence stored in a snapshot's header.
+     *
+     * @return Journal sequence, or {@link SessionJournal#UNKNOWN_SEQUENCE} if there is none or it cannot be read
+     */
+    private long readJournalSequence(Path file) {
+        try {
+            return format == StorageFormat.BINARY
+                ? BinaryConverter.readJournalSequence(file)
+                : JsonConverter.readJournalSequence(file);
+        } catch (IOException | JsonParseException e) {
+            return SessionJournal.UNKNOWN_SEQUENCE;
+        }
+    }
+
     /**
      * Creates the data directory if it doesn't exist.
      */
     private void createDataDirectory() {
         try {
-            Files.createDirectories(Path.of(DATA_DIR));
+            Files.createDirectories(dataDir);
         } catch (IOException e) {
-            e.printStackTrace();
+            LOGGER.log(Level.SEVERE, "Could not create data directory " + dataDir, e);
         }
     }
-    
+
     /**
      * Saves tasks list to file.
+     * When the list lines up with the tasks on disk, that is it has as many tasks and each
+     * task's index is its position, only the tasks modified since they were last saved are
+     * appended to the tasks journal. Otherwise a detached copy is taken on the calling thread
+     * and streamed to disk in the background as a new snapshot, clearing the journal.
      *
      * @param tasks List of tasks to save
      */
     public void saveTasks(List<Task> tasks) {
-        try {
-            String json = JsonConverter.tasksToJson(tasks);
-            Files.writeString(Path.of(DATA_DIR, TASKS_FILE), json);
-        } catch (IOException e) {
-            e.printStackTrace();
+        synchronized (tasksStore) {
+            if (tasks.size() == savedTaskCount && isPositioned(tasks)) {
+                for (int i = 0; i < tasks.size(); i++) {
+                    Task task = tasks.get(i);
+                    if (task.isModified()) {
+                        appendTaskRecord(JournalRecord.taskUpdated(i, task));
+                    }
+                }
+                return;
+            }
+            List<Task> copy = tasks.stream().map(Task::new).toList();
+            tasks.forEach(Task::markSaved);
+            savedTaskCount = tasks.size();
+            long sequence = tasksStore.sequence;
+            scheduleSnapshot(tasksStore, out -> writeTasksSnapshot(copy, sequence, out));
+        }
+    }
+
+    private static boolean isPositioned(List<Task> tasks) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).getIndex() != i) {
+                return false;
+            }
         }
+        return true;
     }
-    
+
     /**
-     * Loads tasks from file.
+     * Loads tasks from file and replays journaled changes on top of them.
+     * The loaded tasks are marked as saved and indexed by their position.
      *
      * @return List of loaded tasks, or empty list if file doesn't exist
      */
     public List<Task> loadTasks() {
-        try {
-            String json = Files.readString(Path.of(DATA_DIR, TASKS_FILE));
-            return JsonConverter.jsonToTasks(json);
-        } catch (IOException e) {
-            return new ArrayList<>();
+        flush();
+        List<Task> tasks = replayTasks().data();
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setIndex(i);
+            tasks.get(i).markSaved();
         }
+        synchronized (tasksStore) {
+            savedTaskCount = tasks.size();
+        }
+        return tasks;
     }
-    
+
     /**
-     * Saves settings to file.
+     * Appends a task change to the tasks journal and marks the recorded task as saved.
+     * Schedules a compaction once the journal grows past the threshold.
+     *
+     * @param record Task change to record
+     */
+    public void appendTaskRecord(JournalRecord record) {
+        synchronized (tasksStore) {
+            scheduleRecord(tasksStore, record);
+            switch (record.getType()) {
+                case TASK_ADDED -> savedTaskCount++;
+                case TASK_REMOVED -> savedTaskCount--;
+                default -> { }
+            }
+            if (record.getTask() != null) {
+                record.getTask().markSaved();
+            }
+        }
+    }
+
+    /**
+     * Saves settings to file, unless they equal the settings last loaded or saved.
      *
      * @param settings Settings to save
      */
     public void saveSettings(Settings settings) {
-        try {
-            String json = JsonConverter.settingsToJson(settings);
-            Files.writeString(Path.of(DATA_DIR, SETTINGS_FILE), json);
-        } catch (IOException e) {
-            e.printStackTrace();
+        String json = JsonConverter.settingsToJson(settings);
+        synchronized (settingsStore) {
+            if (json.equals(settingsStore.savedContent)) {
+                return;
+            }
+            settingsStore.savedContent = json;
         }
+        scheduleSnapshot(settingsStore, out -> out.write(json.getBytes(StandardCharsets.UTF_8)));
     }
-    
+
     /**
      * Loads settings from file.
      *
      * @return Loaded settings, or new settings if file doesn't exist
      */
     public Settings loadSettings() {
+        flush();
         try {
-            String json = Files.readString(Path.of(DATA_DIR, SETTINGS_FILE));
-            return JsonConverter.jsonToSettings(json);
-        } catch (IOException e) {
-            System.out.println("Settings not found, creating new settings" + e);
-            e.printStackTrace();
+            String json = Files.readString(dataDir.resolve(SETTINGS_FILE));
+            Settings settings = JsonConverter.jsonToSettings(json);
+            synchronized (settingsStore) {
+                settingsStore.savedContent = JsonConverter.settingsToJson(settings);
+            }
+            return settings;
+        } catch (NoSuchFileException e) {
+            // Nothing saved yet, as for every new data directory
+            return new Settings();
+        } catch (IOException | JsonParseException e) {
+            LOGGER.log(Level.WARNING, "Settings in " + dataDir + " could not be read, using defaults", e);
             return new Settings();
         }
     }
 
     /**
-     * Saves analytics data to file.
+     * Saves analytics data to file and clears the analytics journal.
+     * Does nothing if no statistic changed since it was last handed over and the total
+     * matches the Pomodoros already journaled, as the journal then holds every change.
+     * The statistics are only read, so published snapshots can be passed in.
+     * Otherwise a detached copy is taken on the calling thread and streamed to disk
+     * in the background.
      *
      * @param taskStats Map of task statistics to save
      * @param totalPomodoros Total number of pomodoros to save
      */
     public void saveAnalytics(Map<String, TaskStats> taskStats, int totalPomodoros) {
-        try {
-            String json = JsonConverter.analyticsToJson(taskStats, totalPomodoros);
-            Files.writeString(Path.of(DATA_DIR, ANALYTICS_FILE), json);
-        } catch (IOException e) {
-            e.printStackTrace();
+        synchronized (analyticsStore) {
+            if (totalPomodoros == savedTotalPomodoros && taskStats.values().stream().allMatch(this::isStatsSaved)) {
+                return;
+            }
+            Map<String, TaskStats> copy = new HashMap<>();
+            taskStats.forEach((name, stats) -> copy.put(name, new TaskStats(stats)));
+            savedStatsVersions.clear();
+            copy.values().forEach(this::recordStatsSaved);
+            savedTotalPomodoros = totalPomodoros;
+            long sequence = analyticsStore.sequence;
+            scheduleSnapshot(analyticsStore, out -> writeAnalyticsSnapshot(copy, totalPomodoros, sequence, out));
         }
     }
-    
+
     /**
-     * Loads analytics data from file.
+     * Loads analytics data from file and replays journaled Pomodoros on top of it.
+     * The loaded statistics count as saved.
      *
      * @return Loaded analytics data, or new analytics data if file doesn't exist
      */
     public AnalyticsData loadAnalytics() {
+        flush();
+        AnalyticsData data = replayAnalytics().data();
+        synchronized (analyticsStore) {
+            savedStatsVersions.clear();
+            data.getTaskStats().values().forEach(this::recordStatsSaved);
+            savedTotalPomodoros = data.getTotalPomodoros();
+        }
+        return data;
+    }
+
+    private boolean isStatsSaved(TaskStats stats) {
+        Long saved = savedStatsVersions.get(stats.getTaskName());
+        return saved != null && saved == stats.getModificationCount();
+    }
+
+    private void recordStatsSaved(TaskStats stats) {
+        savedStatsVersions.put(stats.getTaskName(), stats.getModificationCount());
+    }
+
+    /**
+     * Appends a recorded Pomodoro to the analytics journal.
+     * The record stands for one {@link TaskStats#addPomodoro} call, one modification of
+     * the task's statistics, so statistics that were saved before it count as saved after it.
+     * Schedules a compaction once the journal grows past the threshold.
+     *
+     * @param record Pomodoro record to append
+     */
+    public void appendAnalyticsRecord(JournalRecord record) {
+        synchronized (analyticsStore) {
+            scheduleRecord(analyticsStore, record);
+            if (record.getType() == JournalRecord.Type.POMODORO_RECORDED) {
+                savedTotalPomodoros++;
+                savedStatsVersions.merge(record.getTaskName(), 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Gets the memory-mapped history of recorded sessions, opening it on first use.
+     *
+     * @return Session store
+     * @throws UncheckedIOException if the session file cannot be opened
+     */
+    public synchronized SessionStore getSessionStore() {
+        if (sessionStore == null) {
+            try {
+                sessionStore = new SessionStore(dataDir.resolve(SESSIONS_FILE));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return sessionStore;
+    }
+
+    /**
+     * Blocks until all pending saves and journal records are on disk,
+     * without waiting for the persistence policy's delay.
+     */
+    public void flush() {
+        forceSessionStore();
         try {
-            String json = Files.readString(Path.of(DATA_DIR, ANALYTICS_FILE));
-            return JsonConverter.jsonToAnalytics(json);
+            persistenceExecutor.submit(() -> {
+                writePending(tasksStore);
+                writePending(analyticsStore);
+                writePending(settingsStore);
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.SEVERE, "Could not write pending changes in " + dataDir, e.getCause());
+        }
+    }
+
+    /**
+     * Writes everything still pending, stops the persistence thread and closes the session store.
+     * The manager must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        flush();
+        persistenceExecutor.shutdown();
+        synchronized (this) {
+            if (sessionStore != null) {
+                try {
+                    sessionStore.close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Could not close the session store in " + dataDir, e);
+                }
+                sessionStore = null;
+            }
+        }
+    }
+
+    private synchronized void forceSessionStore() {
+        if (sessionStore != null) {
+            sessionStore.force();
+        }
+    }
+
+    private void scheduleSnapshot(PendingStore store, SnapshotWriter snapshot) {
+        synchronized (store) {
+            store.snapshot = snapshot;
+            store.records.clear();
+            scheduleWrite(store);
+        }
+    }
+
+    private void scheduleRecord(PendingStore store, JournalRecord record) {
+        synchronized (store) {
+            record.setSequence(++store.sequence);
+            store.records.add(JsonConverter.journalRecordToJson(record));
+            scheduleWrite(store);
+        }
+    }
+
+    /**
+     * Queues a write of the store as the persistence policy allows: right away once enough
+     * changes are pending, otherwise when the policy's delay has passed. A write already
+     * queued is not queued again. Must be called while holding the store's lock.
+     */
+    private void scheduleWrite(PendingStore store) {
+        store.pendingChanges++;
+        if (policy.isImmediate() || store.pendingChanges >= policy.getMaxPendingChanges()) {
+            if (!store.writeScheduled) {
+                store.writeScheduled = true;
+                persistenceExecutor.execute(() -> writeAndCompact(store));
+            }
+        } else if (!store.writeScheduled && !store.timerScheduled) {
+            store.timerScheduled = true;
+            flushTimer.execute(() -> writeAndCompact(store));
+        }
+    }
+
+    private void writeAndCompact(PendingStore store) {
+        writePending(store);
+        if (store.journal != null && store.journal.getRecordCount() >= COMPACTION_THRESHOLD) {
+            compact(store);
+        }
+    }
+
+    /**
+     * Writes everything accumulated for a store since its last write.
+     * Runs on the persistence thread only.
+     */
+    private void writePending(PendingStore store) {
+        SnapshotWriter snapshot;
+        List<String> records;
+        synchronized (store) {
+            snapshot = store.snapshot;
+            records = new ArrayList<>(store.records);
+            store.snapshot = null;
+            store.records.clear();
+            store.writeScheduled = false;
+            store.timerScheduled = false;
+            store.pendingChanges = 0;
+        }
+        if (store == analyticsStore && (snapshot != null || !records.isEmpty())) {
+            // Sessions reach the mapped store before their Pomodoro is handed over here, so forcing
+            // the store first means everything journaled or snapshotted is in the session history too
+            forceSessionStore();
+        }
+        try {
+            if (snapshot != null) {
+                writeAtomically(store.file, snapshot);
+                if (store.journal != null) {
+                    store.journal.clear();
+                }
+            }
+            if (!records.isEmpty()) {
+                store.journal.appendLines(records);
+            }
         } catch (IOException e) {
-            return new AnalyticsData(new HashMap<>(), 0);
+            LOGGER.log(Level.SEVERE, "Could not write " + store.file, e);
+            forgetSavedState(store);
+        }
+    }
+
+    /**
+     * Forgets what was handed over for a store after its write failed, so the next
+     * save writes a full snapshot rather than trusting data that never reached the disk.
+     */
+    private void forgetSavedState(PendingStore store) {
+        synchronized (store) {
+            if (store == tasksStore) {
+                savedTaskCount = UNKNOWN_COUNT;
+            } else if (store == analyticsStore) {
+                savedTotalPomodoros = UNKNOWN_COUNT;
+                savedStatsVersions.clear();
+            } else {
+                store.savedContent = null;
+            }
+        }
+    }
+
+    /**
+     * Folds a journal into a new snapshot. Runs on the persistence thread only.
+     */
+    private void compact(PendingStore store) {
+        try {
+            if (store == tasksStore) {
+                SnapshotFile<List<Task>> tasks = replayTasks();
+                writeAtomically(store.file, out -> writeTasksSnapshot(tasks.data(), tasks.journalSequence(), out));
+            } else {
+                SnapshotFile<AnalyticsData> analytics = replayAnalytics();
+                AnalyticsData data = analytics.data();
+                writeAtomically(store.file, out -> writeAnalyticsSnapshot(
+                    data.getTaskStats(), data.getTotalPomodoros(), analytics.journalSequence(), out));
+            }
+            // The new snapshot names the last record it contains, so a crash before this is harmless
+            store.journal.clear();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not compact the journal of " + store.file, e);
+        }
+    }
+
+    /**
+     * Writes content to a temporary file, forces it to disk and moves it over the target,
+     * so a crash leaves either the old or the new file but never a truncated one.
+     */
+    private static void writeAtomically(Path target, SnapshotWriter snapshot) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            snapshot.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void writeTasksSnapshot(List<Task> tasks, long journalSequence, OutputStream out) throws IOException {
+        if (format == StorageFormat.BINARY) {
+            BinaryConverter.writeTasks(tasks, journalSequence, out);
+        } else {
+            JsonConverter.writeTasks(tasks, journalSequence, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeAnalyticsSnapshot(Map<String, TaskStats> taskStats, int totalPomodoros, long journalSequence,
+                                        OutputStream out) throws IOException {
+        if (format == StorageFormat.BINARY) {
+            BinaryConverter.writeAnalytics(taskStats, totalPomodoros, journalSequence, out);
+        } else {
+            JsonConverter.writeAnalytics(taskStats, totalPomodoros, journalSequence,
+                new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads the tasks snapshot and replays the journal records it does not contain yet.
+     *
+     * @return Tasks and the sequence of the last record they contain
+     */
+    private SnapshotFile<List<Task>> replayTasks() {
+        SnapshotFile<List<Task>> snapshot;
+        try {
+            snapshot = format == StorageFormat.BINARY
+                ? BinaryConverter.readTasksSnapshot(tasksStore.file)
+                : JsonConverter.readTasksSnapshot(tasksStore.file);
+        } catch (NoSuchFileException e) {
+            snapshot = new SnapshotFile<>(new ArrayList<>(), SessionJournal.UNKNOWN_SEQUENCE);
+        } catch (IOException | JsonParseException e) {
+            moveAside(tasksStore.file, e);
+            snapshot = new SnapshotFile<>(new ArrayList<>(), SessionJournal.UNKNOWN_SEQUENCE);
+        }
+        List<Task> tasks = snapshot.data();
+        long sequence = snapshot.journalSequence();
+        for (JournalRecord record : tasksJournal.readAll()) {
+            if (record.getSequence() > snapshot.journalSequence()) {
+                applyTaskRecord(tasks, record);
+                sequence = Math.max(sequence, record.getSequence());
+            }
+        }
+        return new SnapshotFile<>(tasks, sequence);
+    }
+
+    private void applyTaskRecord(List<Task> tasks, JournalRecord record) {
+        int index = record.getIndex();
+        switch (record.getType()) {
+            case TASK_ADDED -> tasks.add(Math.min(Math.max(index, 0), tasks.size()), record.getTask());
+            case TASK_UPDATED -> {
+                if (index >= 0 && index < tasks.size()) {
+                    tasks.set(index, record.getTask());
+                }
+            }
+            case TASK_REMOVED -> {
+                if (index >= 0 && index < tasks.size()) {
+                    tasks.remove(index);
+                }
+            }
+            case TASKS_SORTED -> tasks.sort(TaskManager.taskComparator(record.getColumn()));
+            default -> { }
+        }
+    }
+
+    /**
+     * Reads the analytics snapshot and replays the journaled Pomodoros it does not contain yet.
+     *
+     * @return Analytics data and the sequence of the last record it contains
+     */
+    private SnapshotFile<AnalyticsData> replayAnalytics() {
+        SnapshotFile<AnalyticsData> snapshot;
+        try {
+            snapshot = format == StorageFormat.BINARY
+                ? BinaryConverter.readAnalyticsSnapshot(analyticsStore.file)
+                : JsonConverter.readAnalyticsSnapshot(analyticsStore.file);
+        } catch (NoSuchFileException e) {
+            snapshot = new SnapshotFile<>(new AnalyticsData(new HashMap<>(), 0), SessionJournal.UNKNOWN_SEQUENCE);
+        } catch (IOException | JsonParseException e) {
+            moveAside(analyticsStore.file, e);
+            snapshot = new SnapshotFile<>(new AnalyticsData(new HashMap<>(), 0), SessionJournal.UNKNOWN_SEQUENCE);
+        }
+        Map<String, TaskStats> taskStats = new HashMap<>(snapshot.data().getTaskStats());
+        int totalPomodoros = snapshot.data().getTotalPomodoros();
+        long sequence = snapshot.journalSequence();
+        for (JournalRecord record : analyticsJournal.readAll()) {
+            if (record.getType() == JournalRecord.Type.POMODORO_RECORDED
+                    && record.getSequence() > snapshot.journalSequence()) {
+                taskStats.computeIfAbsent(record.getTaskName(), TaskStats::new)
+                    .addPomodoro(record.getDuration(), record.getCompletionTime());
+                totalPomodoros++;
+                sequence = Math.max(sequence, record.getSequence());
+            }
+        }
+        return new SnapshotFile<>(new AnalyticsData(taskStats, totalPomodoros), sequence);
+    }
+
+    /**
+     * Moves a snapshot that cannot be read out of the way, so the next snapshot written
+     * does not overwrite whatever can still be recovered from it. Earlier damaged copies are kept.
+     *
+     * @param file Damaged snapshot
+     * @param cause Why it could not be read
+     */
+    private static void moveAside(Path file, Exception cause) {
+        Path aside = file.resolveSibling(file.getFileName() + ".corrupt");
+        for (int i = 1; Files.exists(aside); i++) {
+            aside = file.resolveSibling(file.getFileName() + ".corrupt." + i);
+        }
+        try {
+            Files.move(file, aside);
+            LOGGER.log(Level.WARNING, "Damaged snapshot " + file + " moved to " + aside
+                + ", starting from the journal only", cause);
+        } catch (IOException e) {
+            e.addSuppressed(cause);
+            LOGGER.log(Level.SEVERE, "Damaged snapshot " + file + " could not be moved aside", e);
+        }
+    }
+
+    /**
+     * Streams a snapshot to an output stream.
+     */
+    @FunctionalInterface
+    private interface SnapshotWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Data waiting to be written for one file: the latest snapshot, if any,
+     * followed by the journal lines recorded after it.
+     */
+    private static class PendingStore {
+        private final Path file;
+        private final SessionJournal journal;
+        private final List<String> records = new ArrayList<>();
+        private SnapshotWriter snapshot;
+        private boolean writeScheduled;
+        private boolean timerScheduled;
+        private int pendingChanges; // Changes since the last write
+        private long sequence; // Sequence of the last journal record handed over
+        private String savedContent; // Content last loaded or saved, for files without a journal
+
+        PendingStore(Path file, SessionJournal journal) {
+            this.file = file;
+            this.journal = journal;
         }
     }
 }
@@ -0,0 +1,123 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.Task;
+import java.time.LocalDateTime;
+
+/**
+ * Single entry of the append-only session journal.
+ * Describes one task mutation or one recorded Pomodoro.
+ * Records get increasing sequence numbers as they are journaled, so a snapshot can tell
+ * which records it already contains.
+ */
+public class JournalRecord {
+    /**
+     * Kinds of changes that can be written to the journal.
+     */
+    public enum Type {
+        TASK_ADDED,
+        TASK_UPDATED,
+        TASK_REMOVED,
+        TASKS_SORTED,
+        POMODORO_RECORDED
+    }
+
+    private Type type;
+    private int index;
+    private Task task;
+    private int column;
+    private String taskName;
+    private int duration;
+    private LocalDateTime completionTime;
+    private long sequence; // 0 for records journaled before sequences existed
+
+    private JournalRecord(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Creates a record for a task inserted into the list.
+     *
+     * @param index Position of the new task
+     * @param task Added task
+     * @return Journal record
+     */
+    public static JournalRecord taskAdded(int index, Task task) {
+        JournalRecord record = new JournalRecord(Type.TASK_ADDED);
+        record.index = index;
+        record.task = task;
+        return record;
+    }
+
+    /**
+     * Creates a record for a task whose properties changed.
+     *
+     * @param index Position of the task
+     * @param task Task with its new state
+     * @return Journal record
+     */
+    public static JournalRecord taskUpdated(int index, Task task) {
+        JournalRecord record = new JournalRecord(Type.TASK_UPDATED);
+        record.index = index;
+        record.task = task;
+        return record;
+    }
+
+    /**
+     * Creates a record for a task removed from the list.
+     *
+     * @param index Position the task was removed from
+     * @return Journal record
+     */
+    public static JournalRecord taskRemoved(int index) {
+        JournalRecord record = new JournalRecord(Type.TASK_REMOVED);
+        record.index = index;
+        return record;
+    }
+
+    /**
+     * Creates a record for the task list being sorted.
+     *
+     * @param column Column the list was sorted by
+     * @return Journal record
+     */
+    public static JournalRecord tasksSorted(int column) {
+        JournalRecord record = new JournalRecord(Type.TASKS_SORTED);
+        record.column = column;
+        return record;
+    }
+
+    /**
+     * Creates a record for a completed Pomodoro.
+     *
+     * @param taskName Name of the task the Pomodoro belongs to
+     * @param duration Duration in seconds
+     * @param completionTime Time the Pomodoro was completed
+     * @return Journal record
+     */
+    public static JournalRecord pomodoroRecorded(String taskName, int duration, LocalDateTime completionTime) {
+        JournalRecord record = new JournalRecord(Type.POMODORO_RECORDED);
+        record.taskName = taskName;
+        record.duration = duration;
+        record.completionTime = completionTime;
+        return record;
+    }
+
+    public Type getType() { return type; }
+
+    public int getIndex() { return index; }
+
+    public Task getTask() { return task; }
+
+    public int getColumn() { return column; }
+
+    public String getTaskName() { return taskName; }
+
+    public int getDuration() { return duration; }
+
+    public LocalDateTime getCompletionTime() { return completionTime; }
+
+    /** @return Sequence number within its journal, or 0 if the record predates sequences */
+    public long getSequence() { return sequence; }
+
+    void setSequence(long sequence) { this.sequence = sequence; }
+}
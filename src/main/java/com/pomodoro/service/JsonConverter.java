@@ -1,18 +1,35 @@
 package com.pomodoro.service;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.pomodoro.model.*;
+import java.io.*;
 import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * Handles JSON serialization and deserialization for application data.
  * Provides conversion methods for tasks, settings, and analytics data.
+ * Tasks and analytics can also be streamed directly from and to files,
+ * without holding the whole document text in memory. Snapshots can lead with the
+ * sequence of the last journal record folded into them, which turns a task list from
+ * a bare array into an object; both shapes are read.
  */
 public class JsonConverter {
+    private static final String JOURNAL_SEQUENCE = "journalSequence";
+    private static final TaskAdapter TASK_ADAPTER = new TaskAdapter();
+    private static final TaskStatsAdapter TASK_STATS_ADAPTER = new TaskStatsAdapter();
     private static final Gson gson = new GsonBuilder()
         .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+        .registerTypeAdapter(Task.class, TASK_ADAPTER)
+        .registerTypeAdapter(TaskStats.class, TASK_STATS_ADAPTER)
         .create();
 
     /**
@@ -22,7 +39,13 @@ public class JsonConverter {
      * @return JSON string representation
      */
     public static String tasksToJson(List<Task> tasks) {
-        return gson.toJson(tasks);
+        StringWriter writer = new StringWriter();
+        try {
+            writeTasks(tasks, writer);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return writer.toString();
     }
 
     /**
@@ -35,8 +58,108 @@ public class JsonConverter {
         if (json == null || json.isEmpty()) {
             return new ArrayList<>();
         }
-        Type listType = new com.google.gson.reflect.TypeToken<List<Task>>(){}.getType();
-        return gson.fromJson(json, listType);
+        try {
+            return readTasks(new JsonReader(new StringReader(json)));
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Streams a list of tasks as a plain JSON array to a writer, without a journal sequence.
+     *
+     * @param tasks List of tasks to write
+     * @param out Writer receiving the JSON
+     * @throws IOException if writing fails
+     */
+    public static void writeTasks(List<Task> tasks, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writeTaskArray(writer, tasks);
+        writer.flush();
+    }
+
+    /**
+     * Streams a list of tasks as JSON to a writer.
+     *
+     * @param tasks List of tasks to write
+     * @param journalSequence Sequence of the last journal record the tasks contain
+     * @param out Writer receiving the JSON
+     * @throws IOException if writing fails
+     */
+    public static void writeTasks(List<Task> tasks, long journalSequence, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginObject();
+        writer.name(JOURNAL_SEQUENCE).value(journalSequence);
+        writer.name("tasks");
+        writeTaskArray(writer, tasks);
+        writer.endObject();
+        writer.flush();
+    }
+
+    private static void writeTaskArray(JsonWriter writer, List<Task> tasks) throws IOException {
+        writer.beginArray();
+        for (Task task : tasks) {
+            TASK_ADAPTER.write(writer, task);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Streams tasks from a JSON file in a single pass.
+     *
+     * @param file File to read
+     * @return List of Task objects, or empty list if the file is empty
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Task> readTasks(Path file) throws IOException {
+        return readTasksSnapshot(file).data();
+    }
+
+    /**
+     * Streams tasks from a JSON file together with the snapshot's journal sequence.
+     *
+     * @param file File to read
+     * @return Tasks and journal sequence
+     * @throws IOException if the file cannot be read
+     */
+    static SnapshotFile<List<Task>> readTasksSnapshot(Path file) throws IOException {
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() == JsonToken.END_DOCUMENT) {
+                return new SnapshotFile<>(new ArrayList<>(), SessionJournal.UNKNOWN_SEQUENCE);
+            }
+            return readTasksSnapshot(reader);
+        }
+    }
+
+    private static List<Task> readTasks(JsonReader reader) throws IOException {
+        return readTasksSnapshot(reader).data();
+    }
+
+    private static SnapshotFile<List<Task>> readTasksSnapshot(JsonReader reader) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            readTaskArray(reader, tasks);
+            return new SnapshotFile<>(tasks, SessionJournal.UNKNOWN_SEQUENCE);
+        }
+        long journalSequence = SessionJournal.UNKNOWN_SEQUENCE;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case JOURNAL_SEQUENCE -> journalSequence = reader.nextLong();
+                case "tasks" -> readTaskArray(reader, tasks);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new SnapshotFile<>(tasks, journalSequence);
+    }
+
+    private static void readTaskArray(JsonReader reader, List<Task> tasks) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            tasks.add(TASK_ADAPTER.read(reader));
+        }
+        reader.endArray();
     }
 
     /**
@@ -57,27 +180,190 @@ public class JsonConverter {
     }
 
     public static String analyticsToJson(Map<String, TaskStats> taskStats, int totalPomodoros) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("taskStats", taskStats);
-        data.put("totalPomodoros", totalPomodoros);
-        return gson.toJson(data);
+        StringWriter writer = new StringWriter();
+        try {
+            writeAnalytics(taskStats, totalPomodoros, writer);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return writer.toString();
     }
 
     public static AnalyticsData jsonToAnalytics(String json) {
         if (json == null || json.isEmpty()) {
             return new AnalyticsData(new HashMap<>(), 0);
         }
-        Type type = new com.google.gson.reflect.TypeToken<Map<String, Object>>(){}.getType();
-        Map<String, Object> data = gson.fromJson(json, type);
-        
+        try {
+            return readAnalytics(new JsonReader(new StringReader(json)));
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Streams analytics data as JSON to a writer, without a journal sequence.
+     *
+     * @param taskStats Map of task statistics to write
+     * @param totalPomodoros Total number of pomodoros
+     * @param out Writer receiving the JSON
+     * @throws IOException if writing fails
+     */
+    public static void writeAnalytics(Map<String, TaskStats> taskStats, int totalPomodoros, Writer out)
+            throws IOException {
+        writeAnalytics(taskStats, totalPomodoros, SessionJournal.UNKNOWN_SEQUENCE, out);
+    }
+
+    /**
+     * Streams analytics data as JSON to a writer.
+     *
+     * @param taskStats Map of task statistics to write
+     * @param totalPomodoros Total number of pomodoros
+     * @param journalSequence Sequence of the last journal record the data contains
+     * @param out Writer receiving the JSON
+     * @throws IOException if writing fails
+     */
+    public static void writeAnalytics(Map<String, TaskStats> taskStats, int totalPomodoros, long journalSequence,
+                                      Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginObject();
+        if (journalSequence != SessionJournal.UNKNOWN_SEQUENCE) {
+            writer.name(JOURNAL_SEQUENCE).value(journalSequence);
+        }
+        writer.name("taskStats").beginObject();
+        for (Map.Entry<String, TaskStats> entry : taskStats.entrySet()) {
+            writer.name(entry.getKey());
+            TASK_STATS_ADAPTER.write(writer, entry.getValue());
+        }
+        writer.endObject();
+        writer.name("totalPomodoros").value(totalPomodoros);
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Streams analytics data from a JSON file in a single pass.
+     *
+     * @param file File to read
+     * @return Analytics data, or empty analytics data if the file is empty
+     * @throws IOException if the file cannot be read
+     */
+    public static AnalyticsData readAnalytics(Path file) throws IOException {
+        return readAnalyticsSnapshot(file).data();
+    }
+
+    /**
+     * Streams analytics data from a JSON file together with the snapshot's journal sequence.
+     *
+     * @param file File to read
+     * @return Analytics data and journal sequence
+     * @throws IOException if the file cannot be read
+     */
+    static SnapshotFile<AnalyticsData> readAnalyticsSnapshot(Path file) throws IOException {
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() == JsonToken.END_DOCUMENT) {
+                return new SnapshotFile<>(new AnalyticsData(new HashMap<>(), 0), SessionJournal.UNKNOWN_SEQUENCE);
+            }
+            return readAnalyticsSnapshot(reader);
+        }
+    }
+
+    /**
+     * Reads only the journal sequence a snapshot starts with.
+     *
+     * @param file File to read
+     * @return Journal sequence, or {@link SessionJournal#UNKNOWN_SEQUENCE} if the file predates sequences
+     * @throws IOException if the file cannot be read
+     */
+    static long readJournalSequence(Path file) throws IOException {
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return SessionJournal.UNKNOWN_SEQUENCE;
+            }
+            reader.beginObject();
+            return reader.hasNext() && reader.nextName().equals(JOURNAL_SEQUENCE)
+                ? reader.nextLong()
+                : SessionJournal.UNKNOWN_SEQUENCE;
+        } catch (EOFException e) {
+            return SessionJournal.UNKNOWN_SEQUENCE;
+        }
+    }
+
+    private static AnalyticsData readAnalytics(JsonReader reader) throws IOException {
+        return readAnalyticsSnapshot(reader).data();
+    }
+
+    private static SnapshotFile<AnalyticsData> readAnalyticsSnapshot(JsonReader reader) throws IOException {
         Map<String, TaskStats> taskStats = new HashMap<>();
-        if (data.get("taskStats") != null) {
-            Type statsType = new com.google.gson.reflect.TypeToken<Map<String, TaskStats>>(){}.getType();
-            taskStats = gson.fromJson(gson.toJson(data.get("taskStats")), statsType);
+        int totalPomodoros = 0;
+        long journalSequence = SessionJournal.UNKNOWN_SEQUENCE;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case JOURNAL_SEQUENCE -> journalSequence = reader.nextLong();
+                case "taskStats" -> {
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        continue;
+                    }
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        taskStats.put(name, TASK_STATS_ADAPTER.read(reader));
+                    }
+                    reader.endObject();
+                }
+                case "totalPomodoros" -> totalPomodoros = (int) reader.nextDouble();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new SnapshotFile<>(new AnalyticsData(taskStats, totalPomodoros), journalSequence);
+    }
+
+    /**
+     * Converts a journal record to a single-line JSON string.
+     *
+     * @param record Record to convert
+     * @return JSON string representation
+     */
+    public static String journalRecordToJson(JournalRecord record) {
+        return gson.toJson(record);
+    }
+
+    /**
+     * Converts a single JSON line to a journal record.
+     *
+     * @param json JSON string to convert
+     * @return Journal record, or null if the string is empty
+     */
+    public static JournalRecord jsonToJournalRecord(String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        return gson.fromJson(json, JournalRecord.class);
+    }
+
+    /**
+     * Opens a buffered UTF-8 JSON reader over a file channel.
+     */
+    private static JsonReader openReader(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        Reader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), 64 * 1024);
+        return new JsonReader(reader);
+    }
+
+    static LocalDateTime readDateTime(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return LocalDateTime.parse(reader.nextString());
+    }
+
+    static void writeDateTime(JsonWriter writer, String name, LocalDateTime value) throws IOException {
+        if (value != null) {
+            writer.name(name).value(value.toString());
         }
-        
-        int totalPomodoros = ((Double) data.get("totalPomodoros")).intValue();
-        return new AnalyticsData(taskStats, totalPomodoros);
     }
 }
 
@@ -95,3 +381,94 @@ class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeseria
         return LocalDateTime.parse(json.getAsString());
     }
 }
+
+/**
+ * Streams Task objects field by field without reflection.
+ */
+class TaskAdapter extends TypeAdapter<Task> {
+    @Override
+    public void write(JsonWriter writer, Task task) throws IOException {
+        if (task == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginObject();
+        writer.name("id").value(task.getId());
+        writer.name("name").value(task.getName());
+        writer.name("priority").value(task.getPriority());
+        writer.name("completed").value(task.isCompleted());
+        writer.name("inProgress").value(task.isInProgress());
+        writer.name("index").value(task.getIndex());
+        writer.name("plannedDuration").value(task.getPlannedDuration());
+        JsonConverter.writeDateTime(writer, "completionTime", task.getCompletionTime());
+        writer.endObject();
+    }
+
+    @Override
+    public Task read(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        Task task = new Task(null, 0);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id" -> task.setId(reader.nextLong());
+                case "name" -> task.setName(reader.nextString());
+                case "priority" -> task.setPriority(reader.nextInt());
+                case "completed" -> task.setCompleted(reader.nextBoolean());
+                case "inProgress" -> task.setInProgress(reader.nextBoolean());
+                case "index" -> task.setIndex(reader.nextInt());
+                case "plannedDuration" -> task.setPlannedDuration(reader.nextInt());
+                case "completionTime" -> task.setCompletionTime(JsonConverter.readDateTime(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return task;
+    }
+}
+
+/**
+ * Streams TaskStats objects field by field without reflection.
+ */
+class TaskStatsAdapter extends TypeAdapter<TaskStats> {
+    @Override
+    public void write(JsonWriter writer, TaskStats stats) throws IOException {
+        if (stats == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginObject();
+        writer.name("taskName").value(stats.getTaskName());
+        writer.name("totalTimeSpent").value(stats.getTotalTimeSpent());
+        JsonConverter.writeDateTime(writer, "completionTime", stats.getCompletionTime());
+        writer.endObject();
+    }
+
+    @Override
+    public TaskStats read(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        String taskName = null;
+        long totalTimeSpent = 0;
+        LocalDateTime completionTime = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "taskName" -> taskName = reader.nextString();
+                case "totalTimeSpent" -> totalTimeSpent = reader.nextLong();
+                case "completionTime" -> completionTime = JsonConverter.readDateTime(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        TaskStats stats = new TaskStats(taskName);
+        stats.setTotalTimeSpent(totalTimeSpent);
+        stats.setCompletionTime(completionTime);
+        return stats;
+    }
+}
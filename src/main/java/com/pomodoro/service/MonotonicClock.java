@@ -0,0 +1,16 @@
+package com.pomodoro.service;
+
+/**
+ * Source of monotonic time, injectable so timing code can be tested without waiting.
+ */
+@FunctionalInterface
+public interface MonotonicClock {
+    /** Clock backed by {@link System#nanoTime()} */
+    MonotonicClock SYSTEM = System::nanoTime;
+
+    /**
+     * Gets the current time from an arbitrary fixed origin.
+     * @return Time in nanoseconds; only differences between readings are meaningful
+     */
+    long nanoTime();
+}
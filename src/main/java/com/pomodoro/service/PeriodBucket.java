@@ -0,0 +1,186 @@
+package com.pomodoro.service;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.Locale;
+
+/**
+ * Maps timestamps to integer period buckets using epoch arithmetic.
+ * Day buckets are local epoch days, week buckets count Monday-based weeks since
+ * the epoch (labelled with the ISO week-based year) and month buckets are
+ * year * 12 + month. Labels are only formatted when asked for, with cached formatters.
+ */
+public enum PeriodBucket {
+    DAY(ChronoUnit.DAYS, DateTimeFormatter.ofPattern("MM/dd/yyyy", Locale.ENGLISH)),
+    WEEK(ChronoUnit.WEEKS, new DateTimeFormatterBuilder()
+        .appendValue(IsoFields.WEEK_BASED_YEAR, 4)
+        .appendLiteral("-W")
+        .appendValue(IsoFields.WEEK_OF_WEEK_BASED_YEAR, 2)
+        .toFormatter(Locale.ENGLISH)),
+    MONTH(ChronoUnit.MONTHS, DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH));
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    // 1970-01-01 was a Thursday, so Monday-based weeks start three days earlier
+    private static final int EPOCH_WEEK_SHIFT = 3;
+
+    private final ChronoUnit unit;
+    private final DateTimeFormatter formatter;
+
+    PeriodBucket(ChronoUnit unit, DateTimeFormatter formatter) {
+        this.unit = unit;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Gets the time unit covered by one bucket.
+     * @return Chrono unit of the bucket
+     */
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the bucket size matching a time unit.
+     *
+     * @param unit Days, weeks or months
+     * @return Matching bucket size, DAY for any other unit
+     */
+    public static PeriodBucket of(ChronoUnit unit) {
+        return switch (unit) {
+            case WEEKS -> WEEK;
+            case MONTHS -> MONTH;
+            default -> DAY;
+        };
+    }
+
+    /**
+     * Converts an instant to the local epoch day in a time zone.
+     *
+     * @param epochSecond Time in epoch seconds
+     * @param zone Time zone that defines day boundaries
+     * @return Local epoch day
+     */
+    public static long localEpochDay(long epochSecond, ZoneId zone) {
+        int offset = zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        return Math.floorDiv(epochSecond + offset, SECONDS_PER_DAY);
+    }
+
+    /**
+     * Gets the bucket containing an instant.
+     *
+     * @param epochSecond Time in epoch seconds
+     * @param zone Time zone that defines day boundaries
+     * @return Bucket id
+     */
+    public long bucketOf(long epochSecond, ZoneId zone) {
+        return bucketOfEpochDay(localEpochDay(epochSecond, zone));
+    }
+
+    /**
+     * Gets the bucket containing a date.
+     *
+     * @param date Local date
+     * @return Bucket id
+     */
+    public long bucketOf(LocalDate date) {
+        return bucketOfEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Gets the bucket containing a local epoch day.
+     *
+     * @param epochDay Local epoch day
+     * @return Bucket id
+     */
+    public long bucketOfEpochDay(long epochDay) {
+        return switch (this) {
+            case DAY -> epochDay;
+            case WEEK -> Math.floorDiv(epochDay + EPOCH_WEEK_SHIFT, 7);
+            case MONTH -> {
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                yield date.getYear() * 12L + date.getMonthValue() - 1;
+            }
+        };
+    }
+
+    /**
+     * Gets the first day of a bucket.
+     *
+     * @param bucket Bucket id
+     * @return First date in the bucket
+     */
+    public LocalDate startOf(long bucket) {
+        return switch (this) {
+            case DAY -> LocalDate.ofEpochDay(bucket);
+            case WEEK -> LocalDate.ofEpochDay(bucket * 7 - EPOCH_WEEK_SHIFT);
+            case MONTH -> LocalDate.of((int) Math.floorDiv(bucket, 12), Math.floorMod(bucket, 12) + 1, 1);
+        };
+    }
+
+    /**
+     * Formats the display label of a bucket.
+     *
+     * @param bucket Bucket id
+     * @return Label such as "12/26/2024", "2024-W52" or "Dec 2024"
+     */
+    public String label(long bucket) {
+        return formatter.format(startOf(bucket));
+    }
+
+    /**
+     * Creates a chart category key for a bucket whose label is formatted on first display.
+     *
+     * @param bucket Bucket id
+     * @return Category key ordered by bucket id
+     */
+    public Key key(long bucket) {
+        return new Key(this, bucket);
+    }
+
+    /**
+     * Chart category key for one bucket.
+     * Keys compare by bucket id, and {@link #toString()} formats the label lazily,
+     * so only the categories a chart actually draws are ever formatted.
+     */
+    public static final class Key implements Comparable<Key> {
+        private final PeriodBucket period;
+        private final long bucket;
+        private String label;
+
+        private Key(PeriodBucket period, long bucket) {
+            this.period = period;
+            this.bucket = bucket;
+        }
+
+        /** @return Bucket id */
+        public long getBucket() {
+            return bucket;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return Long.compare(bucket, other.bucket);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.period == period && key.bucket == bucket;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(bucket) * 31 + period.ordinal();
+        }
+
+        @Override
+        public String toString() {
+            if (label == null) {
+                label = period.label(bucket);
+            }
+            return label;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.pomodoro.service;
+
+import java.time.Duration;
+
+/**
+ * When changes handed to a {@link DataManager} are written to disk.
+ * Changes to a file are batched until either the oldest one has waited {@code maxDelay}
+ * or {@code maxPendingChanges} have accumulated, whichever comes first.
+ * The defaults can be overridden with the {@code pomodoro.flush.delay} (milliseconds)
+ * and {@code pomodoro.flush.changes} system properties.
+ */
+public final class PersistencePolicy {
+    /** System property with the longest time in milliseconds a change waits before it is written */
+    public static final String DELAY_PROPERTY = "pomodoro.flush.delay";
+    /** System property with the number of pending changes that triggers a write right away */
+    public static final String CHANGES_PROPERTY = "pomodoro.flush.changes";
+
+    /** Writes every change as soon as it is handed over */
+    public static final PersistencePolicy IMMEDIATE = new PersistencePolicy(Duration.ZERO, 1);
+
+    private static final long DEFAULT_DELAY_MILLIS = 1000;
+    private static final int DEFAULT_CHANGES = 64;
+
+    private final Duration maxDelay;
+    private final int maxPendingChanges;
+
+    /**
+     * Creates a policy.
+     *
+     * @param maxDelay Longest time a change waits before it is written; zero writes right away
+     * @param maxPendingChanges Number of pending changes to a file that triggers a write right away
+     * @throws IllegalArgumentException if the delay is negative or the count is not positive
+     */
+    public PersistencePolicy(Duration maxDelay, int maxPendingChanges) {
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Delay must not be negative");
+        }
+        if (maxPendingChanges < 1) {
+            throw new IllegalArgumentException("Pending change count must be positive");
+        }
+        this.maxDelay = maxDelay;
+        this.maxPendingChanges = maxPendingChanges;
+    }
+
+    /**
+     * Returns the policy selected by configuration.
+     *
+     * @return Configured policy, with defaults for missing or invalid values
+     */
+    public static PersistencePolicy configured() {
+        long delay = Long.getLong(DELAY_PROPERTY, DEFAULT_DELAY_MILLIS);
+        int changes = Integer.getInteger(CHANGES_PROPERTY, DEFAULT_CHANGES);
+        return new PersistencePolicy(Duration.ofMillis(Math.max(0, delay)), Math.max(1, changes));
+    }
+
+    /** @return Longest time a change waits before it is written */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /** @return Number of pending changes to a file that triggers a write right away */
+    public int getMaxPendingChanges() {
+        return maxPendingChanges;
+    }
+
+    /** @return True if every change is written right away */
+    public boolean isImmediate() {
+        return maxDelay.isZero() || maxPendingChanges == 1;
+    }
+}
@@ -0,0 +1,268 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.Settings;
+import com.pomodoro.model.Task;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Work/break cycle of one user, free of any UI.
+ * Starting a task begins a work phase; when its countdown runs out the task is
+ * completed and a short or long break follows, after which the session waits for
+ * the next task. The session does not run a thread of its own: whoever drives it
+ * (a Swing timer, the server's timer service or a benchmark loop) calls
+ * {@link #update()} once the countdown may have run out.
+ * Not thread-safe; drive each session from one thread at a time.
+ */
+public class PomodoroSession {
+    /**
+     * Part of the cycle the session is in.
+     */
+    public enum Phase {
+        WORK,
+        SHORT_BREAK,
+        LONG_BREAK;
+
+        /** @return True for either kind of break */
+        public boolean isBreak() {
+            return this != WORK;
+        }
+    }
+
+    /**
+     * Something that happened in the cycle.
+     */
+    public enum Event {
+        /** A task started or restarted its work phase */
+        WORK_STARTED,
+        /** The work countdown was paused */
+        WORK_PAUSED,
+        /** The current task was reset and the countdown rewound */
+        WORK_RESET,
+        /** The work countdown ran out and the task was completed */
+        WORK_COMPLETED,
+        /** A break countdown started; {@link #getPhase()} tells which kind */
+        BREAK_STARTED,
+        /** The break ran out or was skipped; the session waits for the next task */
+        BREAK_ENDED
+    }
+
+    /**
+     * Receives cycle events. Listeners are called on the thread driving the session,
+     * after the session has moved to its new state.
+     */
+    @FunctionalInterface
+    public interface SessionListener {
+        void onSessionEvent(Event event, PomodoroSession session);
+    }
+
+    private final TaskManager taskManager;
+    private final CountdownTimer countdown;
+    private final List<SessionListener> listeners = new CopyOnWriteArrayList<>();
+    private int workInterval;
+    private int shortBreakInterval;
+    private int longBreakInterval;
+    private int sessionsUntilLongBreak;
+    private Phase phase = Phase.WORK;
+    private Task currentTask;
+    private int completedSessions;
+
+    /**
+     * Creates an idle session timed by the system clock.
+     *
+     * @param taskManager Manager whose tasks are started and completed
+     * @param settings Interval lengths in seconds and the long break frequency
+     */
+    public PomodoroSession(TaskManager taskManager, Settings settings) {
+        this(taskManager, settings, MonotonicClock.SYSTEM);
+    }
+
+    /**
+     * Creates an idle session.
+     *
+     * @param taskManager Manager whose tasks are started and completed
+     * @param settings Interval lengths in seconds and the long break frequency
+     * @param clock Clock the countdowns are measured against
+     */
+    public PomodoroSession(TaskManager taskManager, Settings settings, MonotonicClock clock) {
+        this.taskManager = taskManager;
+        this.countdown = new CountdownTimer(clock);
+        this.workInterval = settings.getWorkInterval();
+        this.shortBreakInterval = settings.getShortBreakInterval();
+        this.longBreakInterval = settings.getLongBreakInterval();
+        this.sessionsUntilLongBreak = settings.getSessionsUntilLongBreak();
+        countdown.reset(workInterval);
+    }
+
+    /**
+     * Adds a listener for cycle events.
+     *
+     * @param listener Listener to add
+     */
+    public void addListener(SessionListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added earlier.
+     *
+     * @param listener Listener to remove
+     */
+    public void removeListener(SessionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Changes the interval lengths. A countdown in progress keeps its length;
+     * an idle one is rewound to the new length.
+     *
+     * @param work Work interval in seconds
+     * @param shortBreak Short break in seconds
+     * @param longBreak Long break in seconds
+     * @param sessions Work sessions before a long break
+     */
+    public void setIntervals(int work, int shortBreak, int longBreak, int sessions) {
+        this.workInterval = work;
+        this.shortBreakInterval = shortBreak;
+        this.longBreakInterval = longBreak;
+        this.sessionsUntilLongBreak = sessions;
+        if (!countdown.isRunning() && currentTask == null) {
+            countdown.reset(phase.isBreak() ? shortBreakInterval : workInterval);
+        }
+    }
+
+    /**
+     * Starts a work phase on a task, restarting the countdown from the full work interval.
+     *
+     * @param task Task to work on
+     * @throws IllegalStateException if the task cannot be started
+     */
+    public void startWork(Task task) {
+        taskManager.startTask(task, workInterval);
+        currentTask = task;
+        phase = Phase.WORK;
+        countdown.start(workInterval);
+        fire(Event.WORK_STARTED);
+    }
+
+    /**
+     * Pauses the work countdown and the current task.
+     */
+    public void pause() {
+        if (currentTask != null) {
+            taskManager.pauseTask(currentTask);
+            countdown.pause();
+            fire(Event.WORK_PAUSED);
+        }
+    }
+
+    /**
+     * Resets the current task and rewinds the countdown.
+     */
+    public void reset() {
+        if (currentTask != null) {
+            taskManager.resetTask(currentTask);
+            currentTask = null;
+        }
+        countdown.reset(phase.isBreak() ? shortBreakInterval : workInterval);
+        fire(Event.WORK_RESET);
+    }
+
+    /**
+     * Completes the current task now instead of waiting for the countdown, and starts the break.
+     */
+    public void completeWork() {
+        if (phase == Phase.WORK && currentTask != null) {
+            Task task = currentTask;
+            currentTask = null;
+            taskManager.completeTask(task);
+            completedSessions++;
+            fire(Event.WORK_COMPLETED);
+
+            boolean isLongBreak = completedSessions >= sessionsUntilLongBreak;
+            if (isLongBreak) {
+                completedSessions = 0;
+            }
+            phase = isLongBreak ? Phase.LONG_BREAK : Phase.SHORT_BREAK;
+            countdown.start(isLongBreak ? longBreakInterval : shortBreakInterval);
+            fire(Event.BREAK_STARTED);
+        }
+    }
+
+    /**
+     * Ends the current break now.
+     */
+    public void skipBreak() {
+        if (phase.isBreak()) {
+            endBreak();
+        }
+    }
+
+    /**
+     * Moves the cycle on if the countdown has run out: a finished work phase
+     * completes its task and starts a break, a finished break ends.
+     *
+     * @return True if the phase changed
+     */
+    public boolean update() {
+        if (countdown.isRunning() || !countdown.isFinished()) {
+            return false;
+        }
+        if (phase.isBreak()) {
+            endBreak();
+            return true;
+        }
+        if (currentTask != null) {
+            completeWork();
+            return true;
+        }
+        return false;
+    }
+
+    private void endBreak() {
+        phase = Phase.WORK;
+        countdown.reset(workInterval);
+        fire(Event.BREAK_ENDED);
+    }
+
+    private void fire(Event event) {
+        for (SessionListener listener : listeners) {
+            listener.onSessionEvent(event, this);
+        }
+    }
+
+    /** @return Current phase of the cycle */
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /** @return Task being worked on, or null between work phases */
+    public Task getCurrentTask() {
+        return currentTask;
+    }
+
+    /** @return Work sessions completed since the last long break */
+    public int getCompletedSessions() {
+        return completedSessions;
+    }
+
+    /** @return True while a work or break countdown is running */
+    public boolean isRunning() {
+        return countdown.isRunning();
+    }
+
+    /** @return Time left in the current phase, rounded up to whole seconds */
+    public int getRemainingSeconds() {
+        return countdown.getRemainingSeconds();
+    }
+
+    /** @return Exact time left in the current phase in nanoseconds */
+    public long getRemainingNanos() {
+        return countdown.getRemainingNanos();
+    }
+
+    /** @return Nanoseconds until the displayed remaining seconds change, or 0 if the countdown is over */
+    public long nanosUntilNextSecond() {
+        return countdown.nanosUntilNextSecond();
+    }
+}
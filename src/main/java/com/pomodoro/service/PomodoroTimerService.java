@@ -0,0 +1,220 @@
+package com.pomodoro.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs any number of work and break countdowns from a single scheduler thread.
+ * Countdowns live in a {@link TimingWheel}, so starting and cancelling one is O(1)
+ * however many are running, and the scheduler wakes once per tick rather than once
+ * per countdown. A countdown never ends early and ends at most one tick late.
+ * End callbacks run on a separate executor so slow listeners cannot hold up the wheel.
+ */
+public class PomodoroTimerService implements AutoCloseable {
+    /** Default resolution of the wheel */
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(100);
+
+    /**
+     * Part of the pomodoro cycle a countdown measures.
+     */
+    public enum Phase {
+        WORK,
+        BREAK
+    }
+
+    /**
+     * Receives the end of a countdown.
+     */
+    @FunctionalInterface
+    public interface PhaseEndListener {
+        /**
+         * Called once when a countdown reaches zero, unless it was cancelled first.
+         *
+         * @param countdown Countdown that ended
+         */
+        void onPhaseEnd(Countdown countdown);
+    }
+
+    private final long tickNanos;
+    private final long origin = System.nanoTime();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel<Countdown> wheel = new TimingWheel<>(0);
+    private final Executor callbackExecutor;
+    private final ExecutorService ownedExecutor;
+    private final Thread scheduler;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a timer service with the default tick whose callbacks each run on a virtual thread.
+     */
+    public PomodoroTimerService() {
+        this(DEFAULT_TICK, null);
+    }
+
+    /**
+     * Creates a timer service.
+     *
+     * @param tick Resolution of the wheel
+     * @param callbackExecutor Executor running end callbacks, or null for a virtual thread per callback
+     */
+    public PomodoroTimerService(Duration tick, Executor callbackExecutor) {
+        if (tick.isZero() || tick.isNegative()) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickNanos = tick.toNanos();
+        this.ownedExecutor = callbackExecutor == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.callbackExecutor = callbackExecutor == null ? ownedExecutor : callbackExecutor;
+        this.scheduler = new Thread(this::runScheduler, "pomodoro-timer");
+        scheduler.setDaemon(true);
+        scheduler.start();
+    }
+
+    /**
+     * Starts a work countdown.
+     *
+     * @param duration Length of the work session
+     * @param onWorkEnd Called when the work session ends
+     * @return Handle for cancelling the countdown
+     */
+    public Countdown startWork(Duration duration, PhaseEndListener onWorkEnd) {
+        return start(Phase.WORK, duration, onWorkEnd);
+    }
+
+    /**
+     * Starts a break countdown.
+     *
+     * @param duration Length of the break
+     * @param onBreakEnd Called when the break ends
+     * @return Handle for cancelling the countdown
+     */
+    public Countdown startBreak(Duration duration, PhaseEndListener onBreakEnd) {
+        return start(Phase.BREAK, duration, onBreakEnd);
+    }
+
+    /**
+     * Starts a countdown.
+     *
+     * @param phase Phase being timed
+     * @param duration Length of the countdown
+     * @param listener Called when the countdown ends
+     * @return Handle for cancelling the countdown
+     */
+    public Countdown start(Phase phase, Duration duration, PhaseEndListener listener) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        // Round up so the countdown never ends before its deadline
+        long deadlineTick = Math.ceilDiv(deadline - origin, tickNanos);
+        Countdown countdown = new Countdown(phase, deadline, listener);
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Timer service is closed");
+            }
+            countdown.timeout = wheel.schedule(deadlineTick, countdown);
+        } finally {
+            lock.unlock();
+        }
+        return countdown;
+    }
+
+    /**
+     * Gets the number of countdowns still running.
+     * @return Running countdown count
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the scheduler thread. Running countdowns are dropped without firing.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        LockSupport.unpark(scheduler);
+        try {
+            scheduler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.close();
+        }
+    }
+
+    private void runScheduler() {
+        List<Countdown> expired = new ArrayList<>();
+        while (running) {
+            long tick = (System.nanoTime() - origin) / tickNanos;
+            lock.lock();
+            try {
+                wheel.advanceTo(tick, expired::add);
+            } finally {
+                lock.unlock();
+            }
+            for (Countdown countdown : expired) {
+                callbackExecutor.execute(() -> countdown.listener.onPhaseEnd(countdown));
+            }
+            expired.clear();
+            LockSupport.parkNanos(origin + (tick + 1) * tickNanos - System.nanoTime());
+        }
+    }
+
+    /**
+     * A running countdown.
+     */
+    public final class Countdown {
+        private final Phase phase;
+        private final long deadlineNanos;
+        private final PhaseEndListener listener;
+        private TimingWheel.Timeout<Countdown> timeout; // Guarded by the service lock
+
+        private Countdown(Phase phase, long deadlineNanos, PhaseEndListener listener) {
+            this.phase = phase;
+            this.deadlineNanos = deadlineNanos;
+            this.listener = listener;
+        }
+
+        /** @return Phase being timed */
+        public Phase getPhase() {
+            return phase;
+        }
+
+        /**
+         * Gets the time left before the countdown ends.
+         * @return Remaining time, zero once the deadline has passed
+         */
+        public Duration getRemaining() {
+            return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+        }
+
+        /**
+         * Stops the countdown so its listener is never called.
+         *
+         * @return True if it was running, false if it had already ended or been cancelled
+         */
+        public boolean cancel() {
+            lock.lock();
+            try {
+                return timeout.cancel();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSessions;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Hour-of-day and day-of-week histograms, computed in one pass over {@link CompletedSessions}.
+ * The sessions are split into chunks that are aggregated into primitive arrays in parallel
+ * and merged pairwise through fork/join, so the trend labels come from a single scan that
+ * scales across cores. Per-period counts are kept incrementally by {@link TimeBucketRollup}.
+ */
+public final class SessionAggregation {
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    // Sessions a fork/join leaf aggregates on its own; about 1 MB of history
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private final long[] sessionsByHour;
+    private final long[] sessionsByDayOfWeek;
+
+    private SessionAggregation(long[] sessionsByHour, long[] sessionsByDayOfWeek) {
+        this.sessionsByHour = sessionsByHour;
+        this.sessionsByDayOfWeek = sessionsByDayOfWeek;
+    }
+
+    /**
+     * Aggregates a history on the common fork/join pool.
+     * The history must not change until this returns.
+     *
+     * @param history Sessions to aggregate
+     * @param zone Time zone that defines hours and days
+     * @return Aggregated counters
+     */
+    public static SessionAggregation aggregate(CompletedSessions history, ZoneId zone) {
+        return aggregate(history, zone, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Aggregates a history on the given pool.
+     * The history must not change until this returns.
+     *
+     * @param history Sessions to aggregate
+     * @param zone Time zone that defines hours and days
+     * @param pool Pool running the chunks
+     * @return Aggregated counters
+     */
+    public static SessionAggregation aggregate(CompletedSessions history, ZoneId zone, ForkJoinPool pool) {
+        return aggregate(history, zone, pool, CHUNK_SIZE);
+    }
+
+    static SessionAggregation aggregate(CompletedSessions history, ZoneId zone, ForkJoinPool pool, int chunkSize) {
+        ChunkTask task = new ChunkTask(history, zone.getRules(), 0, history.size(), chunkSize);
+        // Small histories are not worth handing to another thread
+        Partial result = history.size() <= chunkSize ? task.compute() : pool.invoke(task);
+        return new SessionAggregation(result.hours, result.daysOfWeek);
+    }
+
+    /** @return Sessions per local hour of day, 24 counters */
+    public long[] getSessionsByHour() { return sessionsByHour.clone(); }
+
+    /** @return Sessions per local day of week from Monday, 7 counters */
+    public long[] getSessionsByDayOfWeek() { return sessionsByDayOfWeek.clone(); }
+
+    /**
+     * Counters of one chunk of the history.
+     */
+    private static final class Partial {
+        private final long[] hours = new long[24];
+        private final long[] daysOfWeek = new long[7];
+
+        private Partial merge(Partial other) {
+            for (int i = 0; i < hours.length; i++) {
+                hours[i] += other.hours[i];
+            }
+            for (int i = 0; i < daysOfWeek.length; i++) {
+                daysOfWeek[i] += other.daysOfWeek[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Aggregates a range of the history, splitting it in halves above the chunk size.
+     */
+    @SuppressWarnings("serial") // never serialized; fork/join tasks only live inside one aggregation
+    private static final class ChunkTask extends RecursiveTask<Partial> {
+        private final CompletedSessions history;
+        private final ZoneRules rules;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private ChunkTask(CompletedSessions history, ZoneRules rules, int from, int to, int chunkSize) {
+            this.history = history;
+            this.rules = rules;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > chunkSize) {
+                int mid = (from + to) >>> 1;
+                ChunkTask left = new ChunkTask(history, rules, from, mid, chunkSize);
+                left.fork();
+                Partial right = new ChunkTask(history, rules, mid, to, chunkSize).compute();
+                return left.join().merge(right);
+            }
+            Partial partial = new Partial();
+            // Consecutive sessions mostly share a zone offset, so it is looked up
+            // again only when a session falls outside the range it was valid for
+            long offsetFrom = Long.MAX_VALUE;
+            long offsetUntil = Long.MIN_VALUE;
+            int offset = 0;
+            for (int i = from; i < to; i++) {
+                long epoch = history.getCompletionEpoch(i);
+                if (epoch < offsetFrom || epoch >= offsetUntil) {
+                    Instant instant = Instant.ofEpochSecond(epoch);
+                    offset = rules.getOffset(instant).getTotalSeconds();
+                    ZoneOffsetTransition next = rules.nextTransition(instant);
+                    offsetFrom = epoch;
+                    offsetUntil = next != null ? next.toEpochSecond() : Long.MAX_VALUE;
+                }
+                long local = epoch + offset;
+                long day = Math.floorDiv(local, SECONDS_PER_DAY);
+                partial.hours[(int) (local - day * SECONDS_PER_DAY) / 3600]++;
+                // 1970-01-01 was a Thursday
+                partial.daysOfWeek[Math.floorMod(day + 3, 7)]++;
+            }
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.pomodoro.service;
+
+import com.google.gson.JsonParseException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only journal of changes made since the last snapshot.
+ * Every record is stored as one JSON line, so recording a change costs
+ * the size of that change instead of the size of the whole history.
+ */
+public class SessionJournal {
+    private static final Logger LOGGER = Logger.getLogger(SessionJournal.class.getName());
+
+    /** Journal sequence of a snapshot written before sequences existed, which folds in no known records */
+    static final long UNKNOWN_SEQUENCE = -1;
+
+    private final Path file;
+    private int recordCount;
+
+    /**
+     * Opens the journal stored in the given file.
+     *
+     * @param file Journal file, created on first append
+     */
+    public SessionJournal(Path file) {
+        this.file = file;
+        this.recordCount = readRecords().size();
+    }
+
+    /**
+     * Appends a record to the end of the journal.
+     *
+     * @param record Record to append
+     * @throws IOException if the record cannot be written
+     */
+    public void append(JournalRecord record) throws IOException {
+        appendLines(List.of(JsonConverter.journalRecordToJson(record)));
+    }
+
+    /**
+     * Appends already serialized records in a single write and forces them to disk.
+     *
+     * @param lines JSON lines to append, one per record
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized void appendLines(List<String> lines) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (String line : lines) {
+            builder.append(line).append(System.lineSeparator());
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(builder.toString());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        recordCount += lines.size();
+    }
+
+    /**
+     * Reads all records in the order they were written.
+     * A damaged tail (for example a line cut short by a crash) ends the replay.
+     *
+     * @return List of journal records, or empty list if the journal doesn't exist
+     */
+    public synchronized List<JournalRecord> readAll() {
+        return readRecords();
+    }
+
+    private List<JournalRecord> readRecords() {
+        List<JournalRecord> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JournalRecord record = parse(line);
+                if (record == null || record.getType() == null) {
+                    break;
+                }
+                records.add(record);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read journal " + file, e);
+        }
+        return records;
+    }
+
+    private JournalRecord parse(String line) {
+        try {
+            return JsonConverter.jsonToJournalRecord(line);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the highest sequence number of the records in the journal.
+     *
+     * @return Highest sequence number, or 0 if the journal holds no sequenced records
+     */
+    public synchronized long readLastSequence() {
+        return readAll().stream().mapToLong(JournalRecord::getSequence).max().orElse(0);
+    }
+
+    /**
+     * Removes all records, typically after they were folded into a snapshot.
+     * Records still left after a crash are recognised by their sequence numbers,
+     * so removing them is not required for correctness.
+     */
+    public synchronized void clear() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not clear journal " + file, e);
+        }
+        recordCount = 0;
+    }
+
+    /** @return Number of records written since the last snapshot */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+}
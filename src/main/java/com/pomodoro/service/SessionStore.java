@@ -0,0 +1,294 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.CompletedSessions;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Memory-mapped history of every recorded Pomodoro session.
+ * Sessions are fixed-width records in a single file, so queries scan the mapped
+ * file directly and nothing has to be rebuilt on the heap at startup.
+ * Records are kept in completion order, which range scans rely on.
+ * Task names are kept in a small side file and referenced from records by id.
+ */
+public class SessionStore implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(SessionStore.class.getName());
+    private static final int MAGIC = 0x504F4D53; // "POMS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int RECORD_SIZE = 24;
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final FileChannel channel;
+    private final Path namesFile;
+    private final List<String> taskNames = new ArrayList<>();
+    private final Map<String, Integer> taskIds = new HashMap<>();
+    private volatile MappedByteBuffer buffer;
+    private volatile int count;
+    private int capacity;
+
+    /**
+     * Receives session records during a scan.
+     */
+    @FunctionalInterface
+    public interface SessionVisitor {
+        /**
+         * Called once per session.
+         *
+         * @param taskId Id of the task, see {@link #getTaskName(int)}
+         * @param startEpoch Start of the session in epoch seconds
+         * @param duration Duration of the session in seconds
+         * @param completionEpoch End of the session in epoch seconds
+         */
+        void visit(int taskId, long startEpoch, int duration, long completionEpoch);
+    }
+
+    /**
+     * Opens the session store at the given path, creating it if needed.
+     *
+     * @param file Session records file; task names are stored next to it
+     * @throws IOException if the file cannot be opened or has an unknown format
+     */
+    public SessionStore(Path file) throws IOException {
+        this.namesFile = file.resolveSibling(file.getFileName() + ".names");
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_SIZE) {
+            map(INITIAL_CAPACITY);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(COUNT_OFFSET, 0);
+        } else {
+            map((int) Math.max(INITIAL_CAPACITY, (channel.size() - HEADER_SIZE) / RECORD_SIZE));
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a Pomodoro session file: " + file);
+            }
+            if (buffer.getInt(4) > VERSION) {
+                throw new IOException("Unsupported session file version " + buffer.getInt(4) + " in " + file);
+            }
+            this.count = buffer.getInt(COUNT_OFFSET);
+        }
+        loadTaskNames();
+    }
+
+    /**
+     * Returns the id for a task name, registering the name if it is new.
+     *
+     * @param taskName Name of the task
+     * @return Task id stored in session records
+     */
+    public synchronized int taskId(String taskName) {
+        Integer id = taskIds.get(taskName);
+        if (id != null) {
+            return id;
+        }
+        int newId = taskNames.size();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(namesFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            byte[] bytes = taskName.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not save task name to " + namesFile, e);
+        }
+        taskNames.add(taskName);
+        taskIds.put(taskName, newId);
+        return newId;
+    }
+
+    /**
+     * Gets the task name registered for an id.
+     *
+     * @param taskId Task id from a session record
+     * @return Task name, or null if the id is unknown
+     */
+    public synchronized String getTaskName(int taskId) {
+        return taskId >= 0 && taskId < taskNames.size() ? taskNames.get(taskId) : null;
+    }
+
+    /**
+     * Appends a session record.
+     *
+     * @param taskId Id of the task, see {@link #taskId(String)}
+     * @param startEpoch Start of the session in epoch seconds
+     * @param duration Duration of the session in seconds
+     * @param completionEpoch End of the session in epoch seconds
+     * @throws IllegalArgumentException if the session ends before the last stored one
+     * @throws UncheckedIOException if the file cannot grow to hold the record
+     */
+    public synchronized void append(int taskId, long startEpoch, int duration, long completionEpoch) {
+        if (completionEpoch < getLastCompletionEpoch()) {
+            throw new IllegalArgumentException("Sessions must be appended in completion order");
+        }
+        if (count == capacity) {
+            try {
+                map(capacity * 2);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not grow the session file", e);
+            }
+        }
+        int offset = HEADER_SIZE + count * RECORD_SIZE;
+        buffer.putInt(offset, taskId);
+        buffer.putLong(offset + 4, startEpoch);
+        buffer.putInt(offset + 12, duration);
+        buffer.putLong(offset + 16, completionEpoch);
+        buffer.putInt(COUNT_OFFSET, count + 1);
+        count++;
+    }
+
+    /** @return Completion time of the last stored session in epoch seconds, or Long.MIN_VALUE if there is none */
+    public synchronized long getLastCompletionEpoch() {
+        return count == 0 ? Long.MIN_VALUE : buffer.getLong(HEADER_SIZE + (count - 1) * RECORD_SIZE + 16);
+    }
+
+    /** @return Number of stored sessions */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets a read-only view of the sessions stored so far, reading the mapped file directly.
+     * Sessions appended later are not part of the view, so it can be read from any thread
+     * while recording continues.
+     *
+     * @return Fixed-size view of the stored sessions
+     */
+    public CompletedSessions view() {
+        // The count is read before the buffer, so the buffer always covers it
+        int size = count;
+        return new View(buffer, size);
+    }
+
+    /**
+     * Visits every stored session in the order it was recorded.
+     *
+     * @param visitor Callback receiving each session
+     */
+    public void scan(SessionVisitor visitor) {
+        scan(Long.MIN_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Visits sessions completed within a time range.
+     * Sessions are appended as they complete, so the range start is found by binary search.
+     *
+     * @param fromEpoch Inclusive lower bound of the completion time in epoch seconds
+     * @param toEpoch Exclusive upper bound of the completion time in epoch seconds
+     * @param visitor Callback receiving each matching session
+     */
+    public void scan(long fromEpoch, long toEpoch, SessionVisitor visitor) {
+        int size = count;
+        MappedByteBuffer view = buffer;
+        int first = firstCompletedAtOrAfter(view, size, fromEpoch);
+        for (int i = first; i < size; i++) {
+            int offset = HEADER_SIZE + i * RECORD_SIZE;
+            long completionEpoch = view.getLong(offset + 16);
+            if (completionEpoch >= toEpoch) {
+                break;
+            }
+            visitor.visit(view.getInt(offset), view.getLong(offset + 4), view.getInt(offset + 12), completionEpoch);
+        }
+    }
+
+    /**
+     * Forces written sessions to disk.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Fixed-size prefix of the mapped records. Only absolute reads are used, which
+     * never touch the buffer's position and are safe to run concurrently.
+     */
+    private static final class View implements CompletedSessions {
+        private final MappedByteBuffer buffer;
+        private final int size;
+
+        private View(MappedByteBuffer buffer, int size) {
+            this.buffer = buffer;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public long getCompletionEpoch(int index) {
+            return buffer.getLong(offset(index) + 16);
+        }
+
+        @Override
+        public int getDuration(int index) {
+            return buffer.getInt(offset(index) + 12);
+        }
+
+        @Override
+        public int getTaskId(int index) {
+            return buffer.getInt(offset(index));
+        }
+
+        private int offset(int index) {
+            Objects.checkIndex(index, size);
+            return HEADER_SIZE + index * RECORD_SIZE;
+        }
+    }
+
+    private int firstCompletedAtOrAfter(MappedByteBuffer view, int size, long epoch) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (view.getLong(HEADER_SIZE + mid * RECORD_SIZE + 16) < epoch) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void map(int newCapacity) throws IOException {
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+            HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+        this.capacity = newCapacity;
+    }
+
+    private void loadTaskNames() throws IOException {
+        if (!Files.exists(namesFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(namesFile)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                String name = new String(bytes, StandardCharsets.UTF_8);
+                taskIds.put(name, taskNames.size());
+                taskNames.add(name);
+            }
+        } catch (EOFException e) {
+            // A name cut short by a crash; sessions never reference it.
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pomodoro.service;
+
+/**
+ * Contents of a task or analytics snapshot file together with the sequence number
+ * of the last journal record folded into it.
+ *
+ * @param data Snapshot contents
+ * @param journalSequence Sequence of the last journal record the snapshot contains, or
+ *                        {@link SessionJournal#UNKNOWN_SEQUENCE} if the file predates sequences
+ */
+record SnapshotFile<T>(T data, long journalSequence) {
+}
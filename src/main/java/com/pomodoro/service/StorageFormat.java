@@ -0,0 +1,39 @@
+package com.pomodoro.service;
+
+/**
+ * On-disk formats supported for task and analytics snapshots.
+ * The format is chosen with the {@code pomodoro.storage} system property
+ * ({@code json} or {@code binary}); JSON is used when it is not set.
+ */
+public enum StorageFormat {
+    JSON(".json"),
+    BINARY(".bin");
+
+    /** System property used to select the storage format */
+    public static final String PROPERTY = "pomodoro.storage";
+
+    private final String extension;
+
+    StorageFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Gets the file extension used for snapshots in this format.
+     *
+     * @return File extension including the leading dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Returns the format selected by configuration.
+     *
+     * @return Configured storage format, or JSON if none or an unknown value is configured
+     */
+    public static StorageFormat configured() {
+        String value = System.getProperty(PROPERTY, "json");
+        return "binary".equalsIgnoreCase(value) ? BINARY : JSON;
+    }
+}
@@ -0,0 +1,101 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.Task;
+import java.util.List;
+
+/**
+ * Describes one change to the task list.
+ * Index ranges refer to positions in the full task list at the moment the
+ * change happened, so a batch of events can be replayed in order.
+ */
+public final class TaskChangeEvent {
+    /**
+     * Kind of change.
+     */
+    public enum Kind {
+        /** Tasks were inserted at the range */
+        ADDED,
+        /** Tasks were removed from the range */
+        REMOVED,
+        /** Tasks in the range changed in place */
+        UPDATED,
+        /** Tasks in the range were reordered */
+        MOVED
+    }
+
+    private final Kind kind;
+    private final int firstIndex;
+    private final int lastIndex;
+    private final List<Task> tasks;
+
+    private TaskChangeEvent(Kind kind, int firstIndex, int lastIndex, List<Task> tasks) {
+        this.kind = kind;
+        this.firstIndex = firstIndex;
+        this.lastIndex = lastIndex;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Creates an event for tasks inserted at consecutive positions.
+     *
+     * @param firstIndex Position of the first inserted task
+     * @param tasks Inserted tasks in list order
+     * @return Added event
+     */
+    public static TaskChangeEvent added(int firstIndex, List<Task> tasks) {
+        return new TaskChangeEvent(Kind.ADDED, firstIndex, firstIndex + tasks.size() - 1, List.copyOf(tasks));
+    }
+
+    /**
+     * Creates an event for tasks removed from consecutive positions.
+     *
+     * @param firstIndex Former position of the first removed task
+     * @param tasks Removed tasks in their former order
+     * @return Removed event
+     */
+    public static TaskChangeEvent removed(int firstIndex, List<Task> tasks) {
+        return new TaskChangeEvent(Kind.REMOVED, firstIndex, firstIndex + tasks.size() - 1, List.copyOf(tasks));
+    }
+
+    /**
+     * Creates an event for a task changed in place.
+     *
+     * @param index Position of the task
+     * @param task Changed task
+     * @return Updated event
+     */
+    public static TaskChangeEvent updated(int index, Task task) {
+        return new TaskChangeEvent(Kind.UPDATED, index, index, List.of(task));
+    }
+
+    /**
+     * Creates an event for a reordered range, such as after sorting.
+     *
+     * @param firstIndex First reordered position
+     * @param lastIndex Last reordered position
+     * @return Moved event
+     */
+    public static TaskChangeEvent moved(int firstIndex, int lastIndex) {
+        return new TaskChangeEvent(Kind.MOVED, firstIndex, lastIndex, List.of());
+    }
+
+    /** @return Kind of change */
+    public Kind getKind() { return kind; }
+
+    /** @return First position of the changed range */
+    public int getFirstIndex() { return firstIndex; }
+
+    /** @return Last position of the changed range, inclusive */
+    public int getLastIndex() { return lastIndex; }
+
+    /** @return Number of positions in the range */
+    public int size() { return lastIndex - firstIndex + 1; }
+
+    /** @return Tasks added, removed or updated; empty for moves */
+    public List<Task> getTasks() { return tasks; }
+
+    @Override
+    public String toString() {
+        return kind + " " + firstIndex + "-" + lastIndex;
+    }
+}
@@ -1,19 +1,50 @@
 package com.pomodoro.service;
 
 import com.pomodoro.model.Task;
+import java.awt.EventQueue;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * Manages tasks in the Pomodoro application.
  * Handles task creation, deletion, updates, and status changes.
+ * Every task gets a stable id; tasks are indexed by id and by name, and each
+ * task's index field tracks its position in the list, so lookups are O(1).
+ * Active and completed tasks are also kept in their own lists, in list order,
+ * which are updated in place so filtering never rescans the task list.
+ * Changes are reported as {@link TaskChangeEvent}s; events raised before the
+ * dispatcher gets to run are delivered to listeners together as one batch.
+ *
+ * <p>The manager is safe to use from any thread. Mutations are serialized by a
+ * {@link StampedLock} write lock and lookups share its read lock. The task list
+ * and the filtered views are handed out as immutable snapshots, which are read
+ * without locking once built. Tasks should only be changed through this class.</p>
  */
 public class TaskManager {
     private final DataManager dataManager;
     private final AnalyticsService analyticsService;
-    private List<Task> tasks = new ArrayList<>();
-    private Task currentActiveTask;
-    private List<TaskChangeListener> listeners = new ArrayList<>();
+    private final StampedLock lock = new StampedLock();
+    private final List<Task> tasks = new ArrayList<>();
+    private final Map<Long, Task> tasksById = new ConcurrentHashMap<>();
+    private final Map<String, List<Task>> tasksByName = new HashMap<>();
+    private long nextId = 1;
+    private final List<Task> activeTasks = new ArrayList<>();
+    private final List<Task> completedTasks = new ArrayList<>();
+    // Immutable copies of the views, rebuilt on the first read after a change
+    private volatile List<Task> allSnapshot;
+    private volatile List<Task> activeSnapshot;
+    private volatile List<Task> completedSnapshot;
+    private final AtomicReference<Task> currentActiveTask = new AtomicReference<>();
+    private final List<TaskChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Executor eventDispatcher = EventQueue::invokeLater;
+    private final List<TaskChangeEvent> pendingEvents = new ArrayList<>();
+    private boolean dispatchScheduled;
 
     /**
      * Creates a new TaskManager instance.
@@ -30,11 +61,14 @@ public class TaskManager {
     /**
      * Interface for listening to task changes.
      */
+    @FunctionalInterface
     public interface TaskChangeListener {
-        /** Called when the task list is modified */
-        void onTaskListChanged();
-        /** Called when a task's status changes */
-        void onTaskStatusChanged(Task task);
+        /**
+         * Called with the changes made since the previous call, in the order they happened.
+         *
+         * @param events Batch of one or more changes
+         */
+        void onTasksChanged(List<TaskChangeEvent> events);
     }
 
     /** Adds a listener for task changes */
@@ -42,31 +76,76 @@ public class TaskManager {
         listeners.add(listener);
     }
 
+    /**
+     * Sets the executor that delivers change events to listeners.
+     * Defaults to the Swing event dispatch thread; use {@code Runnable::run}
+     * to deliver events on the mutating thread instead.
+     *
+     * @param eventDispatcher Executor running event delivery
+     */
+    public void setEventDispatcher(Executor eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+    }
+
     /** Gets the currently active task */
     public Task getCurrentActiveTask() {
-        return currentActiveTask;
+        return currentActiveTask.get();
     }
 
     /** Returns a copy of all tasks */
     public List<Task> getAllTasks() {
-        return new ArrayList<>(tasks);
+        return new ArrayList<>(getFilteredTasks("All"));
     }
 
     /**
      * Returns filtered tasks based on their status.
+     * The result is an immutable snapshot that is cached until the next change,
+     * so repeated calls between changes do not copy anything.
      *
      * @param filter Filter criteria ("All", "Active", "Completed")
      * @return Filtered list of tasks
      */
     public List<Task> getFilteredTasks(String filter) {
-        return tasks.stream()
-            .filter(task -> switch (filter) {
-                case "All" -> true;
-                case "Active" -> !task.isCompleted();
-                case "Completed" -> task.isCompleted();
-                default -> true;
-            })
-            .toList();
+        List<Task> snapshot = switch (filter) {
+            case "Active" -> activeSnapshot;
+            case "Completed" -> completedSnapshot;
+            default -> allSnapshot;
+        };
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long stamp = lock.readLock();
+        try {
+            // Writers are excluded while the read lock is held, so the copy cannot be stale when cached
+            return switch (filter) {
+                case "Active" -> activeSnapshot = List.copyOf(activeTasks);
+                case "Completed" -> completedSnapshot = List.copyOf(completedTasks);
+                default -> allSnapshot = List.copyOf(tasks);
+            };
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the row of a task within a filtered view in O(log n).
+     * For a task that is not in the view, such as one just removed, the result
+     * encodes the row it would occupy, like {@link Collections#binarySearch}.
+     *
+     * @param filter Filter criteria ("All", "Active", "Completed")
+     * @param task Task to locate
+     * @return Row in the view, or (-(insertion row) - 1) if the task is not in it
+     */
+    public int getFilteredRow(String filter, Task task) {
+        return read(() -> {
+            List<Task> view = switch (filter) {
+                case "Active" -> activeTasks;
+                case "Completed" -> completedTasks;
+                default -> tasks;
+            };
+            int row = searchByIndex(view, task.getIndex());
+            return row >= 0 && view.get(row) != task ? -row - 1 : row;
+        });
     }
 
     /**
@@ -76,10 +155,79 @@ public class TaskManager {
      * @param priority Task priority level
      */
     public void addTask(String name, int priority) {
-        Task task = new Task(name, priority);
-        task.setIndex(tasks.size());
-        tasks.add(task);
-        notifyTaskListChanged();
+        write(() -> {
+            Task task = new Task(name, priority);
+            task.setId(nextId++);
+            task.setIndex(tasks.size());
+            tasks.add(task);
+            tasksById.put(task.getId(), task);
+            addToNameIndex(task);
+            activeTasks.add(task);
+            dataManager.appendTaskRecord(JournalRecord.taskAdded(task.getIndex(), task));
+            queueEvent(TaskChangeEvent.added(task.getIndex(), List.of(task)));
+        });
+    }
+
+    /**
+     * Appends copies of existing tasks, such as tasks imported from another list.
+     * Listeners receive a single event for the whole import.
+     *
+     * @param imported Tasks to copy into the list
+     */
+    public void importTasks(List<Task> imported) {
+        if (imported.isEmpty()) {
+            return;
+        }
+        write(() -> {
+            int firstIndex = tasks.size();
+            List<Task> added = new ArrayList<>(imported.size());
+            for (Task source : imported) {
+                Task task = new Task(source);
+                task.setInProgress(false);
+                if (task.getId() <= 0 || tasksById.containsKey(task.getId())) {
+                    task.setId(nextId);
+                }
+                nextId = Math.max(nextId, task.getId() + 1);
+                task.setIndex(tasks.size());
+                tasks.add(task);
+                tasksById.put(task.getId(), task);
+                addToNameIndex(task);
+                (task.isCompleted() ? completedTasks : activeTasks).add(task);
+                dataManager.appendTaskRecord(JournalRecord.taskAdded(task.getIndex(), task));
+                added.add(task);
+            }
+            queueEvent(TaskChangeEvent.added(firstIndex, added));
+        });
+    }
+
+    /**
+     * Removes every completed task.
+     * Listeners receive one batch with an event per run of adjacent removed tasks.
+     */
+    public void clearCompletedTasks() {
+        write(() -> {
+            // Walk the runs from the end so each recorded position is still valid when replayed in order
+            int i = tasks.size() - 1;
+            while (i >= 0) {
+                if (!tasks.get(i).isCompleted()) {
+                    i--;
+                    continue;
+                }
+                int last = i;
+                while (i >= 0 && tasks.get(i).isCompleted()) {
+                    dataManager.appendTaskRecord(JournalRecord.taskRemoved(i));
+                    i--;
+                }
+                queueEvent(TaskChangeEvent.removed(i + 1, tasks.subList(i + 1, last + 1)));
+            }
+            for (Task task : completedTasks) {
+                tasksById.remove(task.getId());
+                removeFromNameIndex(task, task.getName());
+            }
+            tasks.removeIf(Task::isCompleted);
+            completedTasks.clear();
+            updatePositions(0);
+        });
     }
 
     /**
@@ -89,14 +237,25 @@ public class TaskManager {
      * @throws IllegalStateException if task is in progress or active
      */
     public void deleteTask(Task task) {
-        if (task.isInProgress()) {
-            throw new IllegalStateException("Cannot delete a task that is in progress");
-        }
-        if (task == currentActiveTask) {
-            throw new IllegalStateException("Cannot delete the active task");
-        }
-        tasks.remove(task);
-        notifyTaskListChanged();
+        write(() -> {
+            if (task.isInProgress()) {
+                throw new IllegalStateException("Cannot delete a task that is in progress");
+            }
+            if (task == currentActiveTask.get()) {
+                throw new IllegalStateException("Cannot delete the active task");
+            }
+            int index = positionOf(task);
+            if (index >= 0) {
+                List<Task> view = task.isCompleted() ? completedTasks : activeTasks;
+                view.remove(searchByIndex(view, index));
+                tasks.remove(index);
+                updatePositions(index);
+                tasksById.remove(task.getId());
+                removeFromNameIndex(task, task.getName());
+                dataManager.appendTaskRecord(JournalRecord.taskRemoved(index));
+                queueEvent(TaskChangeEvent.removed(index, List.of(task)));
+            }
+        });
     }
 
     /**
@@ -106,29 +265,33 @@ public class TaskManager {
      * @param newName New name for the task
      */
     public void updateTaskName(Task task, String newName) {
-        task.setName(newName);
-        notifyTaskStatusChanged(task);
+        write(() -> {
+            rename(task, newName);
+            taskUpdated(task);
+        });
     }
 
     /**
      * Starts a task with a specified duration.
+     * Only one task can be active at a time; the check and the switch happen atomically.
      *
      * @param task Task to start
      * @param duration Duration in seconds
      * @throws IllegalStateException if task is completed or another task is in progress
      */
     public void startTask(Task task, int duration) {
-        if (task.isCompleted()) {
-            throw new IllegalStateException("Cannot start a completed task");
-        }
-        if (currentActiveTask != null && currentActiveTask != task) {
-            throw new IllegalStateException("Another task is already in progress");
-        }
-        task.setPlannedDuration(duration);
-        currentActiveTask = task;
-        task.setInProgress(true);
-        task.setCompleted(false);
-        notifyTaskStatusChanged(task);
+        write(() -> {
+            if (task.isCompleted()) {
+                throw new IllegalStateException("Cannot start a completed task");
+            }
+            if (!currentActiveTask.compareAndSet(null, task) && currentActiveTask.get() != task) {
+                throw new IllegalStateException("Another task is already in progress");
+            }
+            task.setPlannedDuration(duration);
+            task.setInProgress(true);
+            setCompleted(task, false);
+            taskUpdated(task);
+        });
     }
 
     /**
@@ -146,8 +309,10 @@ public class TaskManager {
      * @param task Task to pause
      */
     public void pauseTask(Task task) {
-        task.setInProgress(false);
-        notifyTaskStatusChanged(task);
+        write(() -> {
+            task.setInProgress(false);
+            taskUpdated(task);
+        });
     }
 
     /**
@@ -156,13 +321,13 @@ public class TaskManager {
      * @param task Task to complete
      */
     public void completeTask(Task task) {
-        task.setCompleted(true);
-        task.setInProgress(false);
-        task.setCompletionTime(LocalDateTime.now()); // Set completion time
-        if (task == currentActiveTask) {
-            currentActiveTask = null;
-        }
-        notifyTaskStatusChanged(task);
+        write(() -> {
+            setCompleted(task, true);
+            task.setInProgress(false);
+            task.setCompletionTime(LocalDateTime.now()); // Set completion time
+            currentActiveTask.compareAndSet(task, null);
+            taskUpdated(task);
+        });
         analyticsService.recordPomodoro(task, task.getPlannedDuration());
     }
 
@@ -172,12 +337,12 @@ public class TaskManager {
      * @param task Task to reset
      */
     public void resetTask(Task task) {
-        task.setInProgress(false);
-        task.setCompleted(false);
-        if (task == currentActiveTask) {
-            currentActiveTask = null;
-        }
-        notifyTaskStatusChanged(task);
+        write(() -> {
+            task.setInProgress(false);
+            setCompleted(task, false);
+            currentActiveTask.compareAndSet(task, null);
+            taskUpdated(task);
+        });
     }
 
     /**
@@ -186,19 +351,38 @@ public class TaskManager {
      * @param columnIndex Index of the column to sort by
      */
     public void sortTasks(int columnIndex) {
-        tasks.sort((task1, task2) -> {
+        write(() -> {
+            tasks.sort(taskComparator(columnIndex));
+            updatePositions(0);
+            rebuildNameIndex();
+            rebuildStatusViews();
+            dataManager.appendTaskRecord(JournalRecord.tasksSorted(columnIndex));
+            if (!tasks.isEmpty()) {
+                queueEvent(TaskChangeEvent.moved(0, tasks.size() - 1));
+            }
+        });
+    }
+
+    /**
+     * Returns the ordering used when sorting by a column.
+     * Shared with the journal replay so a recorded sort reproduces the same order.
+     *
+     * @param columnIndex Index of the column to sort by
+     * @return Comparator for tasks
+     */
+    static Comparator<Task> taskComparator(int columnIndex) {
+        return (task1, task2) -> {
             // Always put completed tasks at the bottom
             if (task1.isCompleted() && !task2.isCompleted()) return 1;
             if (!task1.isCompleted() && task2.isCompleted()) return -1;
-            
+
             // If both tasks have same completion status, sort by column
             return switch(columnIndex) {
                 case 0 -> task1.getName().compareTo(task2.getName());
                 case 1 -> Integer.compare(task1.getPriority(), task2.getPriority());
                 default -> 0;
             };
-        });
-        notifyTaskListChanged();
+        };
     }
 
     /**
@@ -208,23 +392,44 @@ public class TaskManager {
      * @return Task at the specified index, or null if index is out of bounds
      */
     public Task getTaskByIndex(int index) {
-        if (index >= 0 && index < tasks.size()) {
-            return tasks.get(index);
-        }
-        return null;
+        List<Task> all = getFilteredTasks("All");
+        return index >= 0 && index < all.size() ? all.get(index) : null;
+    }
+
+    /**
+     * Finds a task by its id.
+     *
+     * @param id Id of the task
+     * @return Task with the specified id, or null if not found
+     */
+    public Task findTaskById(long id) {
+        return tasksById.get(id);
     }
 
     /**
      * Finds a task by its name.
      *
      * @param name Name of the task
-     * @return Task with the specified name, or null if not found
+     * @return First task in list order with the specified name, or null if not found
      */
     public Task findTaskByName(String name) {
-        return tasks.stream()
-            .filter(t -> t.getName().equals(name))
-            .findFirst()
-            .orElse(null);
+        return read(() -> {
+            List<Task> named = tasksByName.get(name);
+            return named != null ? named.get(0) : null;
+        });
+    }
+
+    /**
+     * Finds all tasks sharing a name.
+     *
+     * @param name Name of the tasks
+     * @return Tasks with the specified name in list order, empty if none
+     */
+    public List<Task> findTasksByName(String name) {
+        return read(() -> {
+            List<Task> named = tasksByName.get(name);
+            return named != null ? List.copyOf(named) : List.<Task>of();
+        });
     }
 
     /**
@@ -235,9 +440,11 @@ public class TaskManager {
      * @param newPriority New priority for the task
      */
     public void updateTask(Task task, String newName, int newPriority) {
-        task.setName(newName);
-        task.setPriority(newPriority);
-        notifyTaskStatusChanged(task);
+        write(() -> {
+            rename(task, newName);
+            task.setPriority(newPriority);
+            taskUpdated(task);
+        });
     }
 
     /**
@@ -283,19 +490,251 @@ public class TaskManager {
     }
 
     private void loadSavedTasks() {
-        tasks = dataManager.loadTasks();
-        notifyTaskListChanged();
+        tasks.addAll(dataManager.loadTasks());
+        for (Task task : tasks) {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        boolean assignedIds = false;
+        for (Task task : tasks) {
+            // Tasks saved before ids existed, or clashing with another task, get a fresh id
+            if (task.getId() <= 0 || tasksById.containsKey(task.getId())) {
+                task.setId(nextId++);
+                assignedIds = true;
+            }
+            tasksById.put(task.getId(), task);
+        }
+        updatePositions(0);
+        rebuildNameIndex();
+        rebuildStatusViews();
+        if (assignedIds) {
+            // Only the tasks given a fresh id are modified, so only they are journaled
+            dataManager.saveTasks(tasks);
+        }
     }
 
     public void saveTasks() {
-        dataManager.saveTasks(tasks);
+        long stamp = lock.readLock();
+        try {
+            dataManager.saveTasks(tasks);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a lookup under the read lock, so it never sees a structure while it is being changed.
+     *
+     * @param reader Lookup that only reads the task structures
+     * @return Result of the lookup
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a mutation under the write lock, then schedules delivery of the events it queued.
+     * Listeners are never called while the lock is held.
+     *
+     * @param mutation Change to the task structures
+     */
+    private void write(Runnable mutation) {
+        long stamp = lock.writeLock();
+        try {
+            mutation.run();
+        } finally {
+            allSnapshot = null;
+            activeSnapshot = null;
+            completedSnapshot = null;
+            lock.unlockWrite(stamp);
+        }
+        scheduleDispatch();
+    }
+
+    private void taskUpdated(Task task) {
+        int index = positionOf(task);
+        if (index >= 0) {
+            // Nothing to journal when the change left the task as it was, such as pausing a paused task
+            if (task.isModified()) {
+                dataManager.appendTaskRecord(JournalRecord.taskUpdated(index, task));
+            }
+            queueEvent(TaskChangeEvent.updated(index, task));
+        }
+    }
+
+    /**
+     * Gets the list position of a task from its index field.
+     *
+     * @param task Task to locate
+     * @return Position in the list, or -1 if the task is not managed here
+     */
+    private int positionOf(Task task) {
+        int index = task.getIndex();
+        return index >= 0 && index < tasks.size() && tasks.get(index) == task ? index : -1;
+    }
+
+    /** Rewrites the index field of every task from a position onwards. */
+    private void updatePositions(int from) {
+        for (int i = from; i < tasks.size(); i++) {
+            tasks.get(i).setIndex(i);
+        }
+    }
+
+    /**
+     * Changes a task's completed flag and moves it to the matching status list.
+     *
+     * @param task Task to change
+     * @param completed New completion status
+     */
+    private void setCompleted(Task task, boolean completed) {
+        if (task.isCompleted() == completed) {
+            return;
+        }
+        task.setCompleted(completed);
+        int index = positionOf(task);
+        if (index < 0) {
+            return;
+        }
+        List<Task> from = completed ? activeTasks : completedTasks;
+        List<Task> to = completed ? completedTasks : activeTasks;
+        from.remove(searchByIndex(from, index));
+        to.add(-searchByIndex(to, index) - 1, task);
     }
 
-    private void notifyTaskListChanged() {
-        listeners.forEach(TaskChangeListener::onTaskListChanged);
+    /**
+     * Binary searches a status list, which is ordered by list position.
+     *
+     * @param view Active or completed tasks
+     * @param index List position to find
+     * @return Position in the status list, or (-(insertion point) - 1) if absent
+     */
+    private static int searchByIndex(List<Task> view, int index) {
+        int low = 0;
+        int high = view.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = view.get(mid).getIndex();
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void rebuildStatusViews() {
+        activeTasks.clear();
+        completedTasks.clear();
+        for (Task task : tasks) {
+            (task.isCompleted() ? completedTasks : activeTasks).add(task);
+        }
+    }
+
+    private void rename(Task task, String newName) {
+        String oldName = task.getName();
+        task.setName(newName);
+        if (positionOf(task) >= 0 && !Objects.equals(oldName, newName)) {
+            removeFromNameIndex(task, oldName);
+            addToNameIndex(task);
+        }
+    }
+
+    /** Inserts a task into its name bucket, keeping the bucket in list order. */
+    private void addToNameIndex(Task task) {
+        List<Task> named = tasksByName.computeIfAbsent(task.getName(), name -> new ArrayList<>(1));
+        int insertAt = named.size();
+        while (insertAt > 0 && named.get(insertAt - 1).getIndex() > task.getIndex()) {
+            insertAt--;
+        }
+        named.add(insertAt, task);
+    }
+
+    private void removeFromNameIndex(Task task, String name) {
+        List<Task> named = tasksByName.get(name);
+        if (named != null) {
+            named.remove(task);
+            if (named.isEmpty()) {
+                tasksByName.remove(name);
+            }
+        }
     }
 
-    private void notifyTaskStatusChanged(Task task) {
-        listeners.forEach(listener -> listener.onTaskStatusChanged(task));
+    private void rebuildNameIndex() {
+        tasksByName.clear();
+        for (Task task : tasks) {
+            tasksByName.computeIfAbsent(task.getName(), name -> new ArrayList<>(1)).add(task);
+        }
+    }
+
+    /**
+     * Queues an event for the next delivery.
+     * Called under the write lock, so events are queued in the order the changes happened.
+     * Repeated updates of the same task while waiting are folded into one event.
+     *
+     * @param event Change to report
+     */
+    private void queueEvent(TaskChangeEvent event) {
+        synchronized (pendingEvents) {
+            TaskChangeEvent last = pendingEvents.isEmpty() ? null : pendingEvents.get(pendingEvents.size() - 1);
+            boolean repeatedUpdate = last != null
+                && event.getKind() == TaskChangeEvent.Kind.UPDATED
+                && last.getKind() == TaskChangeEvent.Kind.UPDATED
+                && last.getFirstIndex() == event.getFirstIndex();
+            if (!repeatedUpdate) {
+                pendingEvents.add(event);
+            }
+        }
+    }
+
+    /**
+     * Schedules delivery of queued events unless a delivery is already pending.
+     */
+    private void scheduleDispatch() {
+        synchronized (pendingEvents) {
+            if (dispatchScheduled || pendingEvents.isEmpty()) {
+                return;
+            }
+            dispatchScheduled = true;
+        }
+        eventDispatcher.execute(this::dispatchEvents);
+    }
+
+    /**
+     * Delivers queued events until none are left.
+     * The delivery stays scheduled while listeners run, so changes they make, or that other
+     * threads make meanwhile, are queued and delivered as the next batch once they return,
+     * even when the dispatcher runs delivery on the calling thread.
+     */
+    private void dispatchEvents() {
+        boolean delivered = false;
+        try {
+            while (true) {
+                List<TaskChangeEvent> batch;
+                synchronized (pendingEvents) {
+                    if (pendingEvents.isEmpty()) {
+                        dispatchScheduled = false;
+                        delivered = true;
+                        return;
+                    }
+                    batch = List.copyOf(pendingEvents);
+                    pendingEvents.clear();
+                }
+                listeners.forEach(listener -> listener.onTasksChanged(batch));
+            }
+        } finally {
+            if (!delivered) {
+                // A listener failed; let the next change schedule delivery of what is left
+                synchronized (pendingEvents) {
+                    dispatchScheduled = false;
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,158 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.TaskStats;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, versioned map of task name to statistics, published once per change and
+ * shared by every listener and reader. Statistics sit in a persistent 32-way trie indexed
+ * by a slot per task, so publishing a change copies only the path to that task's slot
+ * instead of the whole map. The statistics in a snapshot are never modified after it is
+ * published; treat them as read-only.
+ */
+public final class TaskStatsSnapshot extends AbstractMap<String, TaskStats> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    // Slot of every task ever added to this line of snapshots; slots are never reused,
+    // so a slot at or past a snapshot's size belongs to a later snapshot
+    private final Map<String, Integer> slots;
+    private final Object[] root;
+    private final int shift;
+    private final int size;
+    private final long version;
+    private final int totalPomodoros;
+    private Set<Entry<String, TaskStats>> entrySet;
+
+    private TaskStatsSnapshot(Map<String, Integer> slots, Object[] root, int shift, int size,
+                              long version, int totalPomodoros) {
+        this.slots = slots;
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+        this.version = version;
+        this.totalPomodoros = totalPomodoros;
+    }
+
+    /**
+     * Creates the first snapshot of a line from loaded statistics.
+     *
+     * @param taskStats Statistics by task name; copied, so the caller may keep changing them
+     * @param totalPomodoros Total completed Pomodoros
+     * @return Snapshot at version 0
+     */
+    static TaskStatsSnapshot of(Map<String, TaskStats> taskStats, int totalPomodoros) {
+        TaskStatsSnapshot snapshot = new TaskStatsSnapshot(new ConcurrentHashMap<>(), new Object[WIDTH], 0, 0, 0, totalPomodoros);
+        for (TaskStats stats : taskStats.values()) {
+            snapshot = snapshot.with(new TaskStats(stats), 0);
+        }
+        return new TaskStatsSnapshot(snapshot.slots, snapshot.root, snapshot.shift, snapshot.size, 0, totalPomodoros);
+    }
+
+    /**
+     * Creates the next snapshot with one task's statistics replaced or added.
+     * This snapshot is unchanged. Calls must be serialized by the owner of the line.
+     *
+     * @param stats New statistics for the task; must not be modified afterwards
+     * @param addedPomodoros Pomodoros to add to the total
+     * @return Snapshot one version later
+     */
+    TaskStatsSnapshot with(TaskStats stats, int addedPomodoros) {
+        Integer slot = slots.get(stats.getTaskName());
+        int index = slot != null ? slot : size;
+        Object[] newRoot = root;
+        int newShift = shift;
+        // Add a level when the trie is full
+        if (index >= WIDTH << newShift) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newShift += BITS;
+        }
+        newRoot = assoc(newRoot, newShift, index, stats);
+        if (slot == null) {
+            slots.put(stats.getTaskName(), index);
+        }
+        return new TaskStatsSnapshot(slots, newRoot, newShift, Math.max(size, index + 1),
+            version + 1, totalPomodoros + addedPomodoros);
+    }
+
+    /**
+     * Copies the path to a slot, replacing the value at its end.
+     */
+    private static Object[] assoc(Object[] node, int shift, int index, TaskStats stats) {
+        Object[] copy = node != null ? node.clone() : new Object[WIDTH];
+        if (shift == 0) {
+            copy[index & MASK] = stats;
+        } else {
+            int child = (index >>> shift) & MASK;
+            copy[child] = assoc((Object[]) copy[child], shift - BITS, index, stats);
+        }
+        return copy;
+    }
+
+    private TaskStats statsAt(int index) {
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (TaskStats) node[index & MASK];
+    }
+
+    /** @return Number of changes since the line of snapshots was created */
+    public long getVersion() { return version; }
+
+    /** @return Total completed Pomodoros */
+    public int getTotalPomodoros() { return totalPomodoros; }
+
+    @Override
+    public TaskStats get(Object taskName) {
+        Integer slot = slots.get(taskName);
+        return slot != null && slot < size ? statsAt(slot) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object taskName) {
+        return get(taskName) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, TaskStats>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, TaskStats>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size;
+                        }
+
+                        @Override
+                        public Entry<String, TaskStats> next() {
+                            if (next >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            TaskStats stats = statsAt(next++);
+                            return new SimpleImmutableEntry<>(stats.getTaskName(), stats);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+}
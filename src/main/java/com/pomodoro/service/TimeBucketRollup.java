@@ -0,0 +1,171 @@
+package com.pomodoro.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Running per-day, per-week and per-month session counters.
+ * Counters live in primitive arrays indexed by {@link PeriodBucket} id, so recording
+ * a session is O(1) and charts read a window of buckets instead of re-aggregating the history.
+ */
+public class TimeBucketRollup {
+    private final ZoneId zone;
+    private final Counters days = new Counters();
+    private final Counters weeks = new Counters();
+    private final Counters months = new Counters();
+
+    /**
+     * Creates empty rollups using the system time zone.
+     */
+    public TimeBucketRollup() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates empty rollups using the given time zone.
+     *
+     * @param zone Time zone that defines day boundaries
+     */
+    public TimeBucketRollup(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Adds a completed session to the day, week and month it belongs to.
+     *
+     * @param completionEpoch Completion time in epoch seconds
+     * @param duration Duration in seconds
+     */
+    public void add(long completionEpoch, int duration) {
+        long epochDay = PeriodBucket.localEpochDay(completionEpoch, zone);
+        days.add(epochDay, duration);
+        weeks.add(PeriodBucket.WEEK.bucketOfEpochDay(epochDay), duration);
+        months.add(PeriodBucket.MONTH.bucketOfEpochDay(epochDay), duration);
+    }
+
+    /**
+     * Gets the number of sessions in the bucket containing a date.
+     *
+     * @param period Bucket size
+     * @param date Any date inside the bucket
+     * @return Number of sessions
+     */
+    public int getCount(PeriodBucket period, LocalDate date) {
+        return getCount(period, period.bucketOf(date));
+    }
+
+    /**
+     * Gets the number of sessions in a bucket.
+     *
+     * @param period Bucket size
+     * @param bucket Bucket id
+     * @return Number of sessions
+     */
+    public int getCount(PeriodBucket period, long bucket) {
+        return counters(period).count(bucket);
+    }
+
+    /**
+     * Gets the time spent in the bucket containing a date.
+     *
+     * @param period Bucket size
+     * @param date Any date inside the bucket
+     * @return Total duration in seconds
+     */
+    public long getSeconds(PeriodBucket period, LocalDate date) {
+        return counters(period).seconds(period.bucketOf(date));
+    }
+
+    /**
+     * Gets the day of the earliest recorded session.
+     *
+     * @return Earliest date, or null if nothing was recorded
+     */
+    public LocalDate getEarliestDate() {
+        return days.isEmpty() ? null : LocalDate.ofEpochDay(days.first);
+    }
+
+    /**
+     * Copies the counts of every bucket from the earliest session up to the one containing today.
+     * Only the counters are copied, so the cost does not depend on the number of sessions.
+     *
+     * @param period Bucket size
+     * @param today Date the series ends on
+     * @return Series of counts, or null if nothing was recorded
+     */
+    AnalyticsSnapshot.Series toSeries(PeriodBucket period, LocalDate today) {
+        return counters(period).toSeries(period.bucketOf(today));
+    }
+
+    private Counters counters(PeriodBucket period) {
+        return switch (period) {
+            case DAY -> days;
+            case WEEK -> weeks;
+            case MONTH -> months;
+        };
+    }
+
+    /**
+     * Session counts and durations for a contiguous range of buckets.
+     */
+    private static class Counters {
+        private long first;
+        private int[] counts = new int[0];
+        private long[] seconds = new long[0];
+
+        void add(long bucket, int duration) {
+            ensureCovers(bucket);
+            int index = (int) (bucket - first);
+            counts[index]++;
+            seconds[index] += duration;
+        }
+
+        int count(long bucket) {
+            long index = bucket - first;
+            return index >= 0 && index < counts.length ? counts[(int) index] : 0;
+        }
+
+        long seconds(long bucket) {
+            long index = bucket - first;
+            return index >= 0 && index < seconds.length ? seconds[(int) index] : 0;
+        }
+
+        boolean isEmpty() {
+            return counts.length == 0;
+        }
+
+        AnalyticsSnapshot.Series toSeries(long lastBucket) {
+            if (isEmpty()) {
+                return null;
+            }
+            int[] window = new int[(int) Math.max(0, lastBucket - first + 1)];
+            System.arraycopy(counts, 0, window, 0, Math.min(window.length, counts.length));
+            return new AnalyticsSnapshot.Series(first, window);
+        }
+
+        private void ensureCovers(long bucket) {
+            if (counts.length == 0) {
+                first = bucket;
+                counts = new int[16];
+                seconds = new long[16];
+                return;
+            }
+            if (bucket < first) {
+                int shift = (int) (first - bucket);
+                int length = counts.length + Math.max(shift, counts.length);
+                int[] newCounts = new int[length];
+                long[] newSeconds = new long[length];
+                System.arraycopy(counts, 0, newCounts, shift, counts.length);
+                System.arraycopy(seconds, 0, newSeconds, shift, seconds.length);
+                counts = newCounts;
+                seconds = newSeconds;
+                first = bucket;
+            } else if (bucket - first >= counts.length) {
+                int length = (int) Math.max(bucket - first + 1, counts.length * 2L);
+                counts = Arrays.copyOf(counts, length);
+                seconds = Arrays.copyOf(seconds, length);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.pomodoro.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding timeouts keyed by tick number.
+ * Four levels of 64 slots cover 64^4 ticks; a timeout sits in the coarsest level
+ * that still separates it from the current tick and cascades down one level each
+ * time the finer wheel wraps. Scheduling and cancelling are O(1): each slot is a
+ * doubly linked list, so a timeout unlinks itself without searching.
+ * Not thread-safe; {@link PomodoroTimerService} guards it with a lock.
+ *
+ * @param <T> Payload carried by each timeout
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    /** Farthest a timeout can be placed directly; later ones are re-placed when their slot comes round */
+    static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final Slot<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel positioned at a tick.
+     *
+     * @param startTick Tick the wheel starts at
+     */
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        // Generic arrays cannot be created directly; every slot is filled with a Slot<T> below
+        @SuppressWarnings("unchecked")
+        Slot<T>[][] created = (Slot<T>[][]) new Slot<?>[LEVELS][SLOTS];
+        this.wheels = created;
+        for (Slot<T>[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[i] = new Slot<>();
+            }
+        }
+    }
+
+    /**
+     * Gets the last tick the wheel was advanced to.
+     * @return Current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Gets the number of pending timeouts.
+     * @return Pending timeout count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a timeout. Deadlines at or before the current tick expire on the next tick.
+     *
+     * @param deadlineTick Tick at which the timeout expires
+     * @param payload Value handed back when it expires
+     * @return Handle for cancelling the timeout
+     */
+    public Timeout<T> schedule(long deadlineTick, T payload) {
+        Timeout<T> timeout = new Timeout<>(this, deadlineTick, payload);
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel tick by tick up to a target, handing every expired payload to a consumer.
+     * Ticks with nothing to cascade or expire cost a couple of array reads.
+     *
+     * @param targetTick Tick to advance to
+     * @param expired Receives the payload of each expired timeout, in deadline order;
+     *                it must not schedule or cancel on this wheel
+     */
+    public void advanceTo(long targetTick, Consumer<? super T> expired) {
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                return;
+            }
+            long tick = ++currentTick;
+            // Cascade each coarser level whose finer wheel has just wrapped
+            for (int level = 1; level < LEVELS && (tick & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+                cascade(wheels[level][index(tick, level)], tick);
+            }
+            Slot<T> slot = wheels[0][index(tick, 0)];
+            Timeout<T> timeout = slot.head;
+            slot.head = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.slot = null;
+                timeout.prev = null;
+                timeout.next = null;
+                if (timeout.deadlineTick > tick) {
+                    place(timeout, tick + 1); // Beyond the wheel's span when first scheduled
+                } else {
+                    size--;
+                    timeout.expired = true;
+                    expired.accept(timeout.payload);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private void cascade(Slot<T> slot, long tick) {
+        Timeout<T> timeout = slot.head;
+        slot.head = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            place(timeout, tick); // May land in the level 0 slot about to expire
+            timeout = next;
+        }
+    }
+
+    /**
+     * Links a timeout into the slot for its deadline, measured from the current tick.
+     *
+     * @param timeout Timeout to place
+     * @param earliestTick Earliest tick whose slot may receive it
+     */
+    private void place(Timeout<T> timeout, long earliestTick) {
+        long tick = Math.max(timeout.deadlineTick, earliestTick);
+        long delta = tick - currentTick;
+        if (delta >= SPAN) {
+            tick = currentTick + SPAN - 1;
+            delta = SPAN - 1;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        Slot<T> slot = wheels[level][index(tick, level)];
+        timeout.slot = slot;
+        timeout.next = slot.head;
+        if (slot.head != null) {
+            slot.head.prev = timeout;
+        }
+        slot.head = timeout;
+    }
+
+    private static int index(long tick, int level) {
+        return (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+    }
+
+    /** One slot of a wheel: the head of a doubly linked list of timeouts. */
+    private static final class Slot<T> {
+        private Timeout<T> head;
+    }
+
+    /**
+     * A scheduled timeout.
+     *
+     * @param <T> Payload type
+     */
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final long deadlineTick;
+        private final T payload;
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean expired;
+        private boolean cancelled;
+
+        private Timeout(TimingWheel<T> wheel, long deadlineTick, T payload) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        /** @return Tick at which the timeout expires */
+        public long getDeadlineTick() { return deadlineTick; }
+
+        /** @return Payload handed back on expiry */
+        public T getPayload() { return payload; }
+
+        /** @return True if the timeout has fired */
+        public boolean isExpired() { return expired; }
+
+        /** @return True if the timeout was cancelled before firing */
+        public boolean isCancelled() { return cancelled; }
+
+        /**
+         * Removes the timeout from its wheel in constant time.
+         *
+         * @return True if it was pending, false if it had already fired or been cancelled
+         */
+        public boolean cancel() {
+            if (expired || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            if (prev != null) {
+                prev.next = next;
+            } else if (slot != null) {
+                slot.head = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            slot = null;
+            prev = null;
+            next = null;
+            wheel.size--;
+            return true;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.pomodoro.ui;
 
 import com.pomodoro.model.*;
 import com.pomodoro.service.AnalyticsService;
+import com.pomodoro.service.AnalyticsSnapshot;
+import com.pomodoro.service.PeriodBucket;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -10,18 +12,22 @@ import org.jfree.data.category.SlidingCategoryDataset;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.event.HierarchyEvent;
 import java.time.*;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
-import java.time.temporal.WeekFields;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel that displays analytics and statistics about Pomodoro sessions.
  * Shows charts, tables, and productivity trends.
+ * Aggregation runs on a background worker; the panel only applies finished
+ * {@link AnalyticsSnapshot}s on the event thread, and skips versions it already shows.
+ * Charts are built when their tab is first shown and afterwards only marked stale
+ * on data changes, then rebuilt the next time their tab becomes visible.
  */
 public class AnalyticsPanel extends JPanel implements AnalyticsService.AnalyticsListener {
+    private final AnalyticsService analyticsService;
     private JTable statsTable;
     private DefaultTableModel tableModel;
     private JLabel totalPomodorosLabel;
@@ -29,6 +35,12 @@ public class AnalyticsPanel extends JPanel implements AnalyticsService.Analytics
     private JLabel productiveDaysLabel;
     private JTabbedPane tabbedPane;
     private static final int DEFAULT_PERIODS = 30; // Збільшуємо кількість періодів за замовчуванням
+    private long displayedVersion = -1;
+    private LocalDate displayedDay;
+    private boolean refreshRunning; // Accessed on the event thread only
+    private boolean refreshPending;
+    private AnalyticsSnapshot snapshot; // Latest snapshot shown
+    private final Map<Component, ChartTab> chartTabs = new HashMap<>();
 
     /**
      * Creates a new analytics panel.
@@ -36,9 +48,10 @@ public class AnalyticsPanel extends JPanel implements AnalyticsService.Analytics
      * @param analyticsService Service providing analytics data
      */
     public AnalyticsPanel(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
         analyticsService.addListener(this);
         initializeComponents();
-        updateDisplay(analyticsService.getTaskStats(), analyticsService.getTotalPomodoros()); // Initialize table with saved data
+        requestRefresh(); // Initialize table with saved data
     }
 
     /**
@@ -53,11 +66,25 @@ public class AnalyticsPanel extends JPanel implements AnalyticsService.Analytics
         tabbedPane.addTab("Statistics Table", createTableTab());
         
         // Create separate tabs for each chart
-        tabbedPane.addTab("Daily Stats", createSingleChartTab("Daily Tasks", ChronoUnit.DAYS, DEFAULT_PERIODS));
-        tabbedPane.addTab("Weekly Stats", createSingleChartTab("Weekly Tasks", ChronoUnit.WEEKS, DEFAULT_PERIODS/7));
-        tabbedPane.addTab("Monthly Stats", createSingleChartTab("Monthly Tasks", ChronoUnit.MONTHS, DEFAULT_PERIODS/30));
+        addChartTab("Daily Stats", new ChartTab("Daily Tasks", ChronoUnit.DAYS, DEFAULT_PERIODS));
+        addChartTab("Weekly Stats", new ChartTab("Weekly Tasks", ChronoUnit.WEEKS, DEFAULT_PERIODS/7));
+        addChartTab("Monthly Stats", new ChartTab("Monthly Tasks", ChronoUnit.MONTHS, DEFAULT_PERIODS/30));
 
         add(tabbedPane, BorderLayout.CENTER);
+
+        // Build a stale chart once its tab is selected or the whole panel comes into view
+        tabbedPane.addChangeListener(e -> updateVisibleChart());
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing()) {
+                updateVisibleChart();
+            }
+        });
+    }
+
+    private void addChartTab(String tabTitle, ChartTab chartTab) {
+        JPanel component = createSingleChartTab(chartTab);
+        chartTabs.put(component, chartTab);
+        tabbedPane.addTab(tabTitle, component);
     }
 
     /**
@@ -100,167 +127,219 @@ public class AnalyticsPanel extends JPanel implements AnalyticsService.Analytics
 
     /**
      * Creates a chart tab for specific time period statistics.
+     * The tab's holder and navigation controls are kept in its {@link ChartTab}.
      *
-     * @param title Chart title
-     * @param unit Time unit for grouping data
-     * @param periods Number of periods to display
+     * @param chartTab Chart shown in the tab
      * @return Panel containing the chart
      */
-    private JPanel createSingleChartTab(String title, ChronoUnit unit, int periods) {
-        JPanel chartTab = new JPanel(new BorderLayout());
-        chartTab.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+    private JPanel createSingleChartTab(ChartTab chartTab) {
+        JPanel chartTabPanel = new JPanel(new BorderLayout());
+        chartTabPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
         // Create main panel with chart
         JPanel mainPanel = new JPanel(new BorderLayout());
-        JPanel chartHolder = new JPanel(new BorderLayout());
-        chartHolder.setName(title);
-        mainPanel.add(chartHolder, BorderLayout.CENTER);
+        mainPanel.add(chartTab.holder, BorderLayout.CENTER);
         
         // Add navigation panel at the bottom
         JPanel navPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         JButton prevButton = new JButton("←");
         JButton nextButton = new JButton("→");
-        JLabel pageLabel = new JLabel("Page 1");
         
         navPanel.add(prevButton);
-        navPanel.add(pageLabel);
+        navPanel.add(chartTab.pageLabel);
         navPanel.add(nextButton);
-        
-        // Store navigation components in the chartHolder for later access
-        chartHolder.putClientProperty("prevButton", prevButton);
-        chartHolder.putClientProperty("nextButton", nextButton);
-        chartHolder.putClientProperty("pageLabel", pageLabel);
+
+        // Sliding the window notifies the chart about data changes
+        prevButton.addActionListener(e -> chartTab.showPage(-1));
+        nextButton.addActionListener(e -> chartTab.showPage(1));
         
         mainPanel.add(navPanel, BorderLayout.SOUTH);
-        chartTab.add(mainPanel, BorderLayout.CENTER);
+        chartTabPanel.add(mainPanel, BorderLayout.CENTER);
         
-        return chartTab;
+        return chartTabPanel;
     }
 
     /**
-     * Handles updates to analytics data.
+     * Handles updates to analytics data by scheduling a background refresh.
+     * Returns immediately, so recording a Pomodoro never waits for the charts.
      *
      * @param stats Updated task statistics
      * @param totalPomodoros Total number of completed Pomodoros
      */
     @Override
     public void onStatsUpdated(Map<String, TaskStats> stats, int totalPomodoros) {
-        updateDisplay(stats, totalPomodoros);
+        if (SwingUtilities.isEventDispatchThread()) {
+            requestRefresh();
+        } else {
+            SwingUtilities.invokeLater(this::requestRefresh);
+        }
     }
 
     /**
-     * Updates all display components with new statistics.
+     * Starts aggregating the analytics on a worker thread, or, if a refresh is already
+     * running, runs one more after it so bursts of updates coalesce into two at most.
+     */
+    private void requestRefresh() {
+        if (refreshRunning) {
+            refreshPending = true;
+            return;
+        }
+        refreshRunning = true;
+        new SwingWorker<AnalyticsSnapshot, Void>() {
+            @Override
+            protected AnalyticsSnapshot doInBackground() {
+                return analyticsService.snapshot();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    AnalyticsSnapshot snapshot = get();
+                    if (snapshot.getVersion() != displayedVersion || !snapshot.getToday().equals(displayedDay)) {
+                        updateDisplay(snapshot);
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+                refreshRunning = false;
+                if (refreshPending) {
+                    refreshPending = false;
+                    requestRefresh();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Updates all display components from an analytics snapshot.
      *
-     * @param stats Task statistics to display
-     * @param totalPomodoros Total number of completed Pomodoros
+     * @param snapshot Aggregated analytics to display
      */
-    private void updateDisplay(Map<String, TaskStats> stats, int totalPomodoros) {
-        totalPomodorosLabel.setText("Total Pomodoro Sessions: " + totalPomodoros);
+    private void updateDisplay(AnalyticsSnapshot snapshot) {
+        displayedVersion = snapshot.getVersion();
+        displayedDay = snapshot.getToday();
+        totalPomodorosLabel.setText("Total Pomodoro Sessions: " + snapshot.getTotalPomodoros());
 
         // Update table
         tableModel.setRowCount(0);
-        stats.values().stream()
+        snapshot.getTaskStats().stream()
             .forEach(stat -> tableModel.addRow(new Object[]{
                 stat.getTaskName(),
                 stat.getFormattedTimeSpent()
             }));
 
         // Update productivity trends
-        updateProductivityTrends(stats);
+        updateProductivityTrends(snapshot);
 
-        // Update each chart in its tab
-        updateChart(stats, "Daily Tasks", ChronoUnit.DAYS, DEFAULT_PERIODS);
-        updateChart(stats, "Weekly Tasks", ChronoUnit.WEEKS, DEFAULT_PERIODS/7);
-        updateChart(stats, "Monthly Tasks", ChronoUnit.MONTHS, DEFAULT_PERIODS/30);
+        // Charts are only rebuilt when seen
+        this.snapshot = snapshot;
+        for (ChartTab chartTab : chartTabs.values()) {
+            chartTab.stale = true;
+        }
+        updateVisibleChart();
     }
 
     /**
-     * Updates productivity trend labels with most productive hours and days.
+     * Applies a snapshot and updates every chart, whether shown or not.
+     * Drives the panel off screen, e.g. from headless tests.
      *
-     * @param stats Task statistics for analysis
+     * @param snapshot Aggregated analytics to display
      */
-    private void updateProductivityTrends(Map<String, TaskStats> stats) {
-        Map<Integer, Long> hourProductivity = new HashMap<>();
-        Map<DayOfWeek, Long> dayProductivity = new HashMap<>();
-
-        stats.values().forEach(stat -> {
-            LocalDateTime completionTime = stat.getCompletionTime();
-            if (completionTime != null) {
-                int hour = completionTime.getHour();
-                DayOfWeek day = completionTime.getDayOfWeek();
-
-                hourProductivity.put(hour, hourProductivity.getOrDefault(hour, 0L) + 1);
-                dayProductivity.put(day, dayProductivity.getOrDefault(day, 0L) + 1);
-            }
-        });
+    void applySnapshot(AnalyticsSnapshot snapshot) {
+        updateDisplay(snapshot);
+        for (ChartTab chartTab : chartTabs.values()) {
+            chartTab.stale = false;
+            updateChart(chartTab, snapshot);
+        }
+    }
 
-        int mostProductiveHour = hourProductivity.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse(-1);
+    /**
+     * Rebuilds the chart on screen if its data changed since it was last built.
+     * Charts in hidden tabs, or in a hidden panel, wait until they are shown.
+     */
+    private void updateVisibleChart() {
+        if (snapshot == null || !isShowing()) {
+            return;
+        }
+        ChartTab chartTab = chartTabs.get(tabbedPane.getSelectedComponent());
+        if (chartTab != null && chartTab.stale) {
+            chartTab.stale = false;
+            updateChart(chartTab, snapshot);
+        }
+    }
 
-        DayOfWeek mostProductiveDay = dayProductivity.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse(null);
+    /**
+     * Updates productivity trend labels with most productive hours and days.
+     *
+     * @param snapshot Aggregated analytics holding the hour and day histograms
+     */
+    private void updateProductivityTrends(AnalyticsSnapshot snapshot) {
+        int mostProductiveHour = indexOfMax(snapshot.getSessionsByHour());
+        int dayIndex = indexOfMax(snapshot.getSessionsByDayOfWeek());
+        DayOfWeek mostProductiveDay = dayIndex != -1 ? DayOfWeek.of(dayIndex + 1) : null;
 
         productiveHoursLabel.setText("Most Productive Hours: " + (mostProductiveHour != -1 ? mostProductiveHour + ":00" : "N/A"));
         productiveDaysLabel.setText("Most Productive Days: " + (mostProductiveDay != null ? mostProductiveDay : "N/A"));
     }
 
     /**
-     * Updates specific chart with new statistics.
+     * Finds the position of the largest non-zero counter.
      *
-     * @param stats Task statistics to display
-     * @param title Chart title
-     * @param unit Time unit for grouping data
-     * @param periods Number of periods to display
+     * @param counts Counters to search
+     * @return Index of the largest counter, or -1 if all are zero
      */
-    private void updateChart(Map<String, TaskStats> stats, String title, ChronoUnit unit, int periods) {
-        // Find the tab with this chart
-        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
-            Component comp = tabbedPane.getComponentAt(i);
-            if (comp instanceof JPanel panel) {
-                // Шукаємо компоненти рекурсивно
-                JPanel chartHolder = findChartHolder(panel, title);
-                if (chartHolder != null) {
-                    // Create and add the new chart
-                    chartHolder.removeAll();
-                    JFreeChart chart = createTimeChart(stats, title, unit, periods);
-                    ChartPanel chartPanel = createChartPanel(chart, null);
-                    chartHolder.add(chartPanel, BorderLayout.CENTER);
-                    chartHolder.revalidate();
-                    chartHolder.repaint();
-                    break;
-                }
+    private int indexOfMax(long[] counts) {
+        int best = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && (best == -1 || counts[i] > counts[best])) {
+                best = i;
             }
         }
+        return best;
     }
 
     /**
-     * Recursively searches for chart holder panel by title.
+     * Updates a chart with the recorded sessions, creating it on first use.
+     * Later updates refill the chart's dataset in place and keep the page being viewed.
      *
-     * @param container Container to search in
-     * @param title Title of the chart holder to find
-     * @return Found chart holder panel or null
+     * @param chartTab Chart to update
+     * @param snapshot Aggregated analytics holding the per-period counts
      */
-    private JPanel findChartHolder(Container container, String title) {
-        // Перевіряємо чи поточний контейнер є шуканою панеллю
-        if (container instanceof JPanel 
-            && title.equals(container.getName())) {
-            return (JPanel) container;
+    private void updateChart(ChartTab chartTab, AnalyticsSnapshot snapshot) {
+        if (chartTab.chart == null) {
+            createTimeChart(chartTab);
+        }
+        DefaultCategoryDataset baseDataset = chartTab.baseDataset;
+        LocalDate today = snapshot.getToday();
+        PeriodBucket period = PeriodBucket.of(chartTab.unit);
+        AnalyticsSnapshot.Series series = snapshot.getSeries(period);
+
+        long firstBucket = series != null
+            ? series.getFirstBucket()
+            : period.bucketOf(today.minus(chartTab.periods, chartTab.unit));
+
+        // Buckets are only appended as time passes; start over if the range moved its start
+        if (baseDataset.getColumnCount() > 0
+                && ((PeriodBucket.Key) baseDataset.getColumnKey(0)).getBucket() != firstBucket) {
+            baseDataset.clear();
         }
 
-        // Рекурсивно шукаємо у всіх компонентах
-        for (Component comp : container.getComponents()) {
-            if (comp instanceof Container) {
-                JPanel result = findChartHolder((Container) comp, title);
-                if (result != null) {
-                    return result;
-                }
+        // Read the pre-aggregated counter of every bucket from earliest to now;
+        // keys format their label only when the chart draws them. Column i holds
+        // bucket firstBucket + i, and only changed or new buckets are written, since
+        // the dataset looks keys up by a linear search
+        long lastBucket = period.bucketOf(today);
+        int columns = baseDataset.getColumnCount();
+        for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+            int count = series != null ? series.getCount(bucket) : 0;
+            int column = (int) (bucket - firstBucket);
+            if (column >= columns || baseDataset.getValue(0, column).intValue() != count) {
+                baseDataset.setValue(count, "Completed Sessions", period.key(bucket));
             }
         }
-        return null;
+
+        // Stay on the same page; re-setting the window notifies the chart once
+        chartTab.showPage(0);
     }
 
     /**
@@ -281,45 +360,20 @@ public class AnalyticsPanel extends JPanel implements AnalyticsService.Analytics
         return chartPanel;
     }
 
-    private JFreeChart createTimeChart(Map<String, TaskStats> stats, String title, ChronoUnit unit, int defaultPeriods) {
-        DefaultCategoryDataset baseDataset = new DefaultCategoryDataset();
-        LocalDateTime now = LocalDateTime.now();
-
-        // Find the earliest completion date
-        LocalDateTime earliestDate = stats.values().stream()
-            .map(TaskStats::getCompletionTime)
-            .filter(date -> date != null)
-            .min(LocalDateTime::compareTo)
-            .orElse(now.minus(defaultPeriods, unit));
-
-        // Calculate actual number of periods needed
-        long actualPeriods = unit.between(earliestDate, now) + 1;
-        
-        // Group tasks by time period
-        Map<String, Long> completedTasks = stats.values().stream()
-            .filter(stat -> stat.getCompletionTime() != null)
-            .collect(Collectors.groupingBy(
-                stat -> getPeriodLabel(stat.getCompletionTime(), unit),
-                Collectors.counting()
-            ));
-
-        // Add data points for all periods from earliest to now
-        for (long i = actualPeriods - 1; i >= 0; i--) {
-            LocalDateTime periodStart = now.minus(i, unit);
-            String label = formatPeriodLabel(periodStart, unit);
-            baseDataset.addValue(completedTasks.getOrDefault(label, 0L), 
-                               "Completed Tasks", label);
-        }
-
-        // Create sliding dataset with 30-day window
-        SlidingCategoryDataset slidingDataset = new SlidingCategoryDataset(baseDataset, 0, 30);
-
+    /**
+     * Creates the chart of a tab over its datasets and puts it in the tab's holder.
+     * Runs once per tab; updates afterwards only change the datasets.
+     *
+     * @param chartTab Chart to create
+     */
+    private void createTimeChart(ChartTab chartTab) {
         JFreeChart chart = ChartFactory.createBarChart(
-            title,
+            chartTab.title,
             "Period",
-            "Number of Tasks",
-            slidingDataset
+            "Number of Sessions",
+            chartTab.slidingDataset
         );
+        chartTab.chart = chart;
 
         // Configure chart appearance
         org.jfree.chart.plot.CategoryPlot plot = chart.getCategoryPlot();
@@ -327,59 +381,54 @@ public class AnalyticsPanel extends JPanel implements AnalyticsService.Analytics
             org.jfree.chart.axis.CategoryLabelPositions.UP_45
         );
 
-        // Setup navigation buttons
-        JPanel chartHolder = findChartHolder(this, title);
-        if (chartHolder != null) {
-            JButton prevButton = (JButton)chartHolder.getClientProperty("prevButton");
-            JButton nextButton = (JButton)chartHolder.getClientProperty("nextButton");
-            JLabel pageLabel = (JLabel)chartHolder.getClientProperty("pageLabel");
-            
-            prevButton.addActionListener(e -> {
-                int firstIdx = slidingDataset.getFirstCategoryIndex();
-                if (firstIdx > 0) {
-                    slidingDataset.setFirstCategoryIndex(Math.max(0, firstIdx - 30));
-                    updatePageLabel(pageLabel, slidingDataset, baseDataset);
-                    chart.fireChartChanged(); // Notify chart about data changes
-                }
-            });
-            
-            nextButton.addActionListener(e -> {
-                int firstIdx = slidingDataset.getFirstCategoryIndex();
-                int maxIdx = baseDataset.getColumnCount() - 30;
-                if (firstIdx < maxIdx) {
-                    slidingDataset.setFirstCategoryIndex(Math.min(maxIdx, firstIdx + 30));
-                    updatePageLabel(pageLabel, slidingDataset, baseDataset);
-                    chart.fireChartChanged(); // Notify chart about data changes
-                }
-            });
-            
-            // Initialize page label
-            updatePageLabel(pageLabel, slidingDataset, baseDataset);
-        }
-
-        return chart;
+        chartTab.holder.add(createChartPanel(chart, null), BorderLayout.CENTER);
+        chartTab.holder.revalidate();
+        chartTab.holder.repaint();
     }
 
-    private void updatePageLabel(JLabel label, SlidingCategoryDataset sliding, 
-                               DefaultCategoryDataset base) {
-        int currentPage = (sliding.getFirstCategoryIndex() / 30) + 1;
-        int totalPages = (int)Math.ceil(base.getColumnCount() / 30.0);
-        if (sliding.getFirstCategoryIndex() + 30 >= base.getColumnCount()) {
-            currentPage = totalPages;
+    /**
+     * Everything one chart tab is made of: the holder its chart goes in, the page label,
+     * the chart and its datasets, and whether the chart is out of date.
+     * Created with the tab, so updates reach the chart without searching the component tree.
+     */
+    private static final class ChartTab {
+        private static final int PAGE_SIZE = 30;
+
+        private final String title;
+        private final ChronoUnit unit;
+        private final int periods;
+        private final JPanel holder = new JPanel(new BorderLayout());
+        private final JLabel pageLabel = new JLabel("Page 1");
+        private final DefaultCategoryDataset baseDataset = new DefaultCategoryDataset();
+        // Window of one page of periods over the full history
+        private final SlidingCategoryDataset slidingDataset = new SlidingCategoryDataset(baseDataset, 0, PAGE_SIZE);
+        private JFreeChart chart; // Created when first shown
+        private boolean stale = true;
+
+        private ChartTab(String title, ChronoUnit unit, int periods) {
+            this.title = title;
+            this.unit = unit;
+            this.periods = periods;
         }
-        label.setText(String.format("Page %d of %d", currentPage, totalPages));
-    }
 
-    private String getPeriodLabel(LocalDateTime date, ChronoUnit unit) {
-        return switch (unit) {
-            case DAYS -> date.format(DateTimeFormatter.ofPattern("MM/dd/yyyy"));
-            case WEEKS -> "Week " + date.get(WeekFields.ISO.weekOfWeekBasedYear());
-            case MONTHS -> date.format(DateTimeFormatter.ofPattern("MMM yyyy"));
-            default -> date.toString();
-        };
-    }
+        /**
+         * Moves the window by whole pages, clamped to the history, and updates the page label.
+         *
+         * @param pages Pages to move; negative goes back in time, 0 re-applies the current page
+         */
+        private void showPage(int pages) {
+            int maxIdx = Math.max(0, baseDataset.getColumnCount() - PAGE_SIZE);
+            int firstIdx = slidingDataset.getFirstCategoryIndex() + pages * PAGE_SIZE;
+            int clamped = Math.max(0, Math.min(maxIdx, firstIdx));
+            if (pages == 0 || clamped != slidingDataset.getFirstCategoryIndex()) {
+                slidingDataset.setFirstCategoryIndex(clamped);
+            }
 
-    private String formatPeriodLabel(LocalDateTime date, ChronoUnit unit) {
-        return getPeriodLabel(date, unit);
+            int totalPages = (int)Math.ceil(baseDataset.getColumnCount() / (double) PAGE_SIZE);
+            int currentPage = clamped + PAGE_SIZE >= baseDataset.getColumnCount()
+                ? totalPages
+                : clamped / PAGE_SIZE + 1;
+            pageLabel.setText(String.format("Page %d of %d", currentPage, totalPages));
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.pomodoro.ui;
 
+import com.pomodoro.service.PomodoroSession;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
@@ -8,24 +9,26 @@ import java.awt.Toolkit; // Додаємо імпорт для системни
 
 /**
  * Dialog window that appears during break intervals.
- * Displays a countdown timer and allows users to skip breaks.
+ * Displays the break countdown of a pomodoro session and allows users to skip breaks.
+ * Closes itself when the session's break ends.
  */
 public class BreakDialog extends JDialog {
     private JLabel timerLabel;
-    private Timer breakTimer;
-    private int timeLeft;
+    private Timer breakTimer; // One-shot display refresh, rescheduled for each second boundary
+    private final PomodoroSession session;
+    private final PomodoroSession.SessionListener breakEndListener = this::onSessionEvent;
     private boolean breakSkipped = false;
 
     /**
      * Creates a new break dialog.
      *
      * @param parent The parent frame for this dialog
-     * @param breakDuration Duration of the break in seconds
+     * @param session Session whose break is shown
      * @param isLongBreak True if this is a long break, false for short break
      */
-    public BreakDialog(JFrame parent, int breakDuration, boolean isLongBreak) {
+    public BreakDialog(JFrame parent, PomodoroSession session, boolean isLongBreak) {
         super(parent, "Break Time!", true);
-        this.timeLeft = breakDuration;
+        this.session = session;
         
         // Play start break sound
         Toolkit.getDefaultToolkit().beep();
@@ -33,7 +36,7 @@ public class BreakDialog extends JDialog {
         setLayout(new BorderLayout(10, 10));
         
         // Timer display
-        timerLabel = new JLabel(formatTime(timeLeft), SwingConstants.CENTER);
+        timerLabel = new JLabel(formatTime(session.getRemainingSeconds()), SwingConstants.CENTER);
         timerLabel.setFont(new Font("Arial", Font.BOLD, 48));
         
         // Message
@@ -47,8 +50,7 @@ public class BreakDialog extends JDialog {
         JButton skipButton = new JButton("Skip Break");
         skipButton.addActionListener(e -> {
             breakSkipped = true;
-            breakTimer.stop();
-            dispose();
+            session.skipBreak();
         });
         
         // Layout
@@ -66,24 +68,44 @@ public class BreakDialog extends JDialog {
         setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
         
         // Setup timer
-        breakTimer = new Timer(1000, e -> updateTimer());
-        breakTimer.start();
+        breakTimer = new Timer(0, e -> updateTimer());
+        breakTimer.setRepeats(false);
+        session.addListener(breakEndListener);
+        updateTimer();
     }
 
     /**
-     * Updates the countdown timer display.
-     * Closes the dialog when timer reaches zero.
+     * Updates the countdown timer display and schedules the next update
+     * for the moment the displayed second changes.
+     * The session closes the dialog through its break end event.
      */
     private void updateTimer() {
-        if (timeLeft > 0) {
-            timeLeft--;
-            timerLabel.setText(formatTime(timeLeft));
-        } else {
-            breakTimer.stop();
-            // Play end break sound
-            Toolkit.getDefaultToolkit().beep();
-            dispose();
+        session.update();
+        if (!session.getPhase().isBreak()) {
+            close();
+            return;
         }
+        timerLabel.setText(formatTime(session.getRemainingSeconds()));
+        if (session.isRunning()) {
+            breakTimer.setInitialDelay((int) Math.ceilDiv(session.nanosUntilNextSecond(), 1_000_000));
+            breakTimer.restart();
+        }
+    }
+
+    private void onSessionEvent(PomodoroSession.Event event, PomodoroSession session) {
+        if (event == PomodoroSession.Event.BREAK_ENDED) {
+            if (!breakSkipped) {
+                // Play end break sound
+                Toolkit.getDefaultToolkit().beep();
+            }
+            close();
+        }
+    }
+
+    private void close() {
+        breakTimer.stop();
+        session.removeListener(breakEndListener);
+        dispose();
     }
 
     /**
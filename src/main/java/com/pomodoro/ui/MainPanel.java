@@ -1,48 +1,30 @@
 package com.pomodoro.ui;
 
 import com.pomodoro.model.Task;
+import com.pomodoro.service.PomodoroSession;
 import com.pomodoro.service.TaskManager;
 import javax.swing.*;
 import java.awt.*;
-import javax.swing.table.DefaultTableModel;
-import java.util.List;
 
-public class MainPanel extends JPanel implements TaskManager.TaskChangeListener {
+public class MainPanel extends JPanel {
     private final TaskManager taskManager;
+    private final PomodoroSession session;
     private JTable taskTable;
-    private DefaultTableModel tableModel;
+    private TaskTableModel tableModel;
     private JLabel timerLabel;
     private JButton startButton;
     private JButton stopButton;
     private JButton resetButton;
-    private Timer pomodoroTimer;
-    private int workInterval = 25 * 60; // 25 minutes in seconds
-    private int shortBreakInterval = 5 * 60; // 5 minutes in seconds
-    private int longBreakInterval = 15 * 60; // 15 minutes in seconds
-    private int timeLeft = workInterval;
-    private boolean isWorkSession = true;
-    private Task currentTask = null; // Replace currentActiveTask with Task reference
-    private int sessionsUntilLongBreak = 4; // Default value
-    private int completedSessions = 0;
+    private Timer pomodoroTimer; // One-shot display refresh, rescheduled for each second boundary
     private ButtonGroup filterGroup;
     private String currentFilter = "All"; // Add this field
 
-    public MainPanel(TaskManager taskManager) {
+    public MainPanel(TaskManager taskManager, PomodoroSession session) {
         this.taskManager = taskManager;
-        taskManager.addListener(this);
+        this.session = session;
+        session.addListener(this::onSessionEvent);
         setLayout(new BorderLayout(10, 10));
         initializeComponents();
-        updateTableFromTasks(); // Add initial table update
-    }
-
-    @Override
-    public void onTaskListChanged() {
-        updateTableFromTasks();
-    }
-
-    @Override
-    public void onTaskStatusChanged(Task task) {
-        updateTableFromTasks();
     }
 
     private void initializeComponents() {
@@ -55,7 +37,7 @@ public class MainPanel extends JPanel implements TaskManager.TaskChangeListener
         JPanel timerPanel = new JPanel(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
         
-        timerLabel = new JLabel(formatTime(timeLeft));
+        timerLabel = new JLabel(formatTime(session.getRemainingSeconds()));
         timerLabel.setFont(new Font("Arial", Font.BOLD, 48));
         
         startButton = new JButton("Start");
@@ -83,9 +65,7 @@ public class MainPanel extends JPanel implements TaskManager.TaskChangeListener
 
         // Task Panel with sorting
         JPanel taskPanel = new JPanel(new BorderLayout(0, 10));
-        tableModel = new DefaultTableModel(
-            new String[]{"Task", "Priority", "Status"}, 0
-        );
+        tableModel = new TaskTableModel(taskManager);
         taskTable = new JTable(tableModel);
         
         // Task control panel with sort and filter buttons
@@ -161,29 +141,20 @@ public class MainPanel extends JPanel implements TaskManager.TaskChangeListener
 
     // Method to update intervals from SettingsDialog
     public void updateIntervals(int workMins, int shortBreakMins, int longBreakMins, int sessions) {
-        this.workInterval = workMins * 60;
-        this.shortBreakInterval = shortBreakMins * 60;
-        this.longBreakInterval = longBreakMins * 60;
-        this.sessionsUntilLongBreak = sessions;
-        
-        if (!pomodoroTimer.isRunning()) {
-            timeLeft = isWorkSession ? workInterval : shortBreakInterval;
-            timerLabel.setText(formatTime(timeLeft));
-        }
+        session.setIntervals(workMins * 60, shortBreakMins * 60, longBreakMins * 60, sessions);
+        timerLabel.setText(formatTime(session.getRemainingSeconds()));
     }
 
     private void setupTimerActions() {
-        pomodoroTimer = new Timer(1000, e -> updateTimer());
+        pomodoroTimer = new Timer(0, e -> updateTimer());
+        pomodoroTimer.setRepeats(false);
         
         startButton.addActionListener(e -> {
             int selectedRow = taskTable.getSelectedRow();
             if (selectedRow != -1) {
                 Task selectedTask = getTaskForTableRow(selectedRow);
                 try {
-                    taskManager.startTask(selectedTask, workInterval);
-                    currentTask = selectedTask;
-                    timeLeft = workInterval;
-                    pomodoroTimer.start();
+                    session.startWork(selectedTask);
                 } catch (IllegalStateException ex) {
                     JOptionPane.showMessageDialog(this, ex.getMessage());
                 }
@@ -192,30 +163,12 @@ public class MainPanel extends JPanel implements TaskManager.TaskChangeListener
             }
         });
 
-        stopButton.addActionListener(e -> {
-            if (currentTask != null) {
-                taskManager.pauseTask(currentTask);
-                pomodoroTimer.stop();
-            }
-        });
-
-        resetButton.addActionListener(e -> {
-            if (currentTask != null) {
-                taskManager.resetTask(currentTask);
-                currentTask = null;
-            }
-            resetTimer();
-        });
+        stopButton.addActionListener(e -> session.pause());
+        resetButton.addActionListener(e -> session.reset());
     }
 
     private Task getTaskForTableRow(int row) {
-        if (row >= 0) {
-            List<Task> filteredTasks = taskManager.getFilteredTasks(currentFilter);
-            if (row < filteredTasks.size()) {
-                return filteredTasks.get(row);
-            }
-        }
-        return null;
+        return tableModel.getTaskAt(row);
     }
 
     private void setupTaskActions(JButton addButton, JButton editButton, JButton deleteButton) {
@@ -225,30 +178,12 @@ public class MainPanel extends JPanel implements TaskManager.TaskChangeListener
     }
 
     private void setupSortActions(JButton sortByNameButton, JButton sortByPriorityButton) {
-        sortByNameButton.addActionListener(e -> {
-            taskManager.sortTasks(0);
-            updateTableFromTasks();
-        });
-        sortByPriorityButton.addActionListener(e -> {
-            taskManager.sortTasks(1);
-            updateTableFromTasks();
-        });
-    }
-
-    private void updateTableFromTasks() {
-        tableModel.setRowCount(0);
-        List<Task> tasksToShow = taskManager.getFilteredTasks(currentFilter);
-        for (Task task : tasksToShow) {
-            tableModel.addRow(new Object[]{
-                task.getName(),
-                taskManager.getPriorityLabel(task.getPriority()),
-                taskManager.getTaskStatus(task)
-            });
-        }
+        sortByNameButton.addActionListener(e -> taskManager.sortTasks(0));
+        sortByPriorityButton.addActionListener(e -> taskManager.sortTasks(1));
     }
 
     private void filterTasks(String filterType) {
-        updateTableFromTasks();
+        tableModel.setFilter(filterType);
     }
 
     private void addNewTask() {
@@ -273,8 +208,7 @@ public class MainPanel extends JPanel implements TaskManager.TaskChangeListener
     private void editSelectedTask() {
         int selectedRow = taskTable.getSelectedRow();
         if (selectedRow != -1) {
-            String taskName = (String) tableModel.getValueAt(selectedRow, 0);
-            Task task = taskManager.findTaskByName(taskName);
+            Task task = getTaskForTableRow(selectedRow);
             if (task != null) {
                 String newName = JOptionPane.showInputDialog(this, "Enter new task name:", task.getName());
                 if (newName != null && !newName.trim().isEmpty()) {
@@ -287,8 +221,7 @@ public class MainPanel extends JPanel implements TaskManager.TaskChangeListener
     private void deleteSelectedTask() {
         int selectedRow = taskTable.getSelectedRow();
         if (selectedRow != -1) {
-            String taskName = (String) tableModel.getValueAt(selectedRow, 0);
-            Task task = taskManager.findTaskByName(taskName);
+            Task task = getTaskForTableRow(selectedRow);
             if (task != null) {
                 try {
                     taskManager.deleteTask(task);
@@ -299,45 +232,39 @@ public class MainPanel extends JPanel implements TaskManager.TaskChangeListener
         }
     }
 
-    private void updateTimer() {
-        if (timeLeft > 0) {
-            timeLeft--;
-            timerLabel.setText(formatTime(timeLeft));
-        } else {
-            pomodoroTimer.stop();
-            if (isWorkSession && currentTask != null) {
-                taskManager.completeTask(currentTask);
-                currentTask = null;
-                completedSessions++;
-                
-                boolean isLongBreak = completedSessions >= sessionsUntilLongBreak;
-                if (isLongBreak) {
-                    completedSessions = 0;
-                }
-                
-                int breakDuration = isLongBreak ? longBreakInterval : shortBreakInterval;
-                
-                BreakDialog breakDialog = new BreakDialog(
-                    (JFrame) SwingUtilities.getWindowAncestor(this),
-                    breakDuration,
-                    isLongBreak
-                );
-                breakDialog.setVisible(true);
-                
-                timeLeft = workInterval;
-                isWorkSession = true;
-            } else {
-                timeLeft = workInterval;
-                isWorkSession = true;
+    private void onSessionEvent(PomodoroSession.Event event, PomodoroSession session) {
+        switch (event) {
+            case WORK_PAUSED, WORK_RESET -> pomodoroTimer.stop();
+            case BREAK_STARTED -> {
+                // Opened after this event is delivered, since the dialog is modal
+                boolean isLongBreak = session.getPhase() == PomodoroSession.Phase.LONG_BREAK;
+                SwingUtilities.invokeLater(() -> {
+                    if (session.getPhase().isBreak()) {
+                        new BreakDialog(
+                            (JFrame) SwingUtilities.getWindowAncestor(this),
+                            session,
+                            isLongBreak
+                        ).setVisible(true);
+                    }
+                });
             }
-            timerLabel.setText(formatTime(timeLeft));
+            default -> { }
         }
+        updateTimer();
     }
 
-    private void resetTimer() {
-        timeLeft = isWorkSession ? workInterval : shortBreakInterval;
-        timerLabel.setText(formatTime(timeLeft));
-        pomodoroTimer.stop();
+    /**
+     * Shows the time left, moves the session on once its countdown runs out, and
+     * schedules the next refresh for the moment the displayed second changes,
+     * so late refreshes never stretch the pomodoro.
+     */
+    private void updateTimer() {
+        session.update();
+        timerLabel.setText(formatTime(session.getRemainingSeconds()));
+        if (session.isRunning()) {
+            pomodoroTimer.setInitialDelay((int) Math.ceilDiv(session.nanosUntilNextSecond(), 1_000_000));
+            pomodoroTimer.restart();
+        }
     }
 
     private String formatTime(int seconds) {
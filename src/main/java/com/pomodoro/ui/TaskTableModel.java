@@ -0,0 +1,131 @@
+package com.pomodoro.ui;
+
+import com.pomodoro.model.Task;
+import com.pomodoro.service.TaskChangeEvent;
+import com.pomodoro.service.TaskManager;
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+
+/**
+ * Table model that reads task rows straight from a filtered view of the TaskManager.
+ * Cells are produced on demand, and each batch of task changes fires events for
+ * the affected rows only instead of rebuilding the whole table. Rows come from the
+ * view snapshot taken when the last batch arrived, so the table never sees a
+ * change before its event.
+ */
+public class TaskTableModel extends AbstractTableModel implements TaskManager.TaskChangeListener {
+    private static final String[] COLUMNS = {"Task", "Priority", "Status"};
+
+    private final TaskManager taskManager;
+    private String filter = "All";
+    private List<Task> rows; // Snapshot the table was last told about
+
+    /**
+     * Creates a table model showing all tasks.
+     *
+     * @param taskManager Manager providing the tasks
+     */
+    public TaskTableModel(TaskManager taskManager) {
+        this.taskManager = taskManager;
+        this.rows = taskManager.getFilteredTasks(filter);
+        taskManager.addListener(this);
+    }
+
+    /**
+     * Switches the filtered view shown by the table.
+     *
+     * @param filter Filter criteria ("All", "Active", "Completed")
+     */
+    public void setFilter(String filter) {
+        this.filter = filter;
+        this.rows = taskManager.getFilteredTasks(filter);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Gets the task shown in a row.
+     *
+     * @param row Row index in the model
+     * @return Task in that row, or null if the row does not exist
+     */
+    public Task getTaskAt(int row) {
+        return row >= 0 && row < rows.size() ? rows.get(row) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Task task = rows.get(row);
+        return switch (column) {
+            case 0 -> task.getName();
+            case 1 -> taskManager.getPriorityLabel(task.getPriority());
+            default -> taskManager.getTaskStatus(task);
+        };
+    }
+
+    @Override
+    public void onTasksChanged(List<TaskChangeEvent> events) {
+        int shownRows = rows.size();
+        rows = taskManager.getFilteredTasks(filter);
+        if ("All".equals(filter) && replaysTo(events, shownRows)) {
+            for (TaskChangeEvent event : events) {
+                switch (event.getKind()) {
+                    case ADDED -> fireTableRowsInserted(event.getFirstIndex(), event.getLastIndex());
+                    case REMOVED -> fireTableRowsDeleted(event.getFirstIndex(), event.getLastIndex());
+                    default -> fireTableRowsUpdated(event.getFirstIndex(), event.getLastIndex());
+                }
+            }
+        } else if (rows.size() == shownRows && onlyUpdates(events)) {
+            // Same rows as before, so every updated task that is shown stays on its row
+            for (TaskChangeEvent event : events) {
+                Task task = event.getTasks().get(0);
+                int row = taskManager.getFilteredRow(filter, task);
+                if (row >= 0 && row < rows.size() && rows.get(row) == task) {
+                    fireTableRowsUpdated(row, row);
+                }
+            }
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Checks that the events of a batch map one to one onto rows of the full list.
+     * Moves and batches whose row count does not add up are redrawn in full instead.
+     */
+    private boolean replaysTo(List<TaskChangeEvent> events, int shownRows) {
+        int rowCount = shownRows;
+        for (TaskChangeEvent event : events) {
+            switch (event.getKind()) {
+                case ADDED -> rowCount += event.size();
+                case REMOVED -> rowCount -= event.size();
+                case MOVED -> { return false; }
+                default -> { }
+            }
+        }
+        return rowCount == rows.size();
+    }
+
+    private static boolean onlyUpdates(List<TaskChangeEvent> events) {
+        for (TaskChangeEvent event : events) {
+            if (event.getKind() != TaskChangeEvent.Kind.UPDATED) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
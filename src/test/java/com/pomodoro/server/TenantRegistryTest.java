@@ -0,0 +1,161 @@
+package com.pomodoro.server;
+
+import static org.junit.Assert.*;
+import com.pomodoro.model.Task;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for TenantRegistry and PomodoroServer classes.
+ * Tests tenant isolation, LRU eviction with reload from disk, and the HTTP routes.
+ */
+public class TenantRegistryTest {
+    private Path root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("pomodoro-tenants");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (var paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testTenantsAreIsolated() {
+        // Arrange
+        try (TenantRegistry registry = new TenantRegistry(root, 10)) {
+            // Act
+            registry.withTenant("alice", services -> {
+                services.getTaskManager().addTask("Alice task", 1);
+                return null;
+            });
+            int bobTasks = registry.withTenant("bob", services -> services.getTaskManager().getAllTasks().size());
+
+            // Assert
+            assertEquals(0, bobTasks);
+            assertEquals(1, (int) registry.withTenant("alice", services -> services.getTaskManager().getAllTasks().size()));
+            assertTrue(Files.isDirectory(root.resolve("alice")));
+            assertTrue(Files.isDirectory(root.resolve("bob")));
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTenantIsEvictedAndReloaded() {
+        // Arrange
+        try (TenantRegistry registry = new TenantRegistry(root, 2)) {
+            registry.withTenant("a", services -> {
+                services.getTaskManager().addTask("Kept task", 2);
+                return null;
+            });
+            registry.withTenant("b", services -> null);
+
+            // Act
+            registry.withTenant("c", services -> null);
+
+            // Assert
+            assertEquals(2, registry.size());
+            assertFalse(registry.isOpen("a"));
+            assertTrue(registry.isOpen("b"));
+            List<Task> reloaded = registry.withTenant("a", services -> services.getTaskManager().getAllTasks());
+            assertEquals(1, reloaded.size());
+            assertEquals("Kept task", reloaded.get(0).getName());
+            assertFalse(registry.isOpen("b"));
+        }
+    }
+
+    @Test
+    public void testRequestsForOneTenantAreSerialized() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try (TenantRegistry registry = new TenantRegistry(root, 1)) {
+            List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String tenant = "t" + (i % 4);
+                int n = i;
+                futures.add(executor.submit(() -> registry.withTenant(tenant, services -> {
+                    services.getTaskManager().addTask("Task " + n, 1);
+                    return null;
+                })));
+            }
+
+            // Act
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            // Assert
+            for (int t = 0; t < 4; t++) {
+                assertEquals(50, (int) registry.withTenant("t" + t,
+                    services -> services.getTaskManager().getAllTasks().size()));
+            }
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void testInvalidTenantIdsAreRejected() {
+        assertFalse(TenantRegistry.isValidTenantId(".."));
+        assertFalse(TenantRegistry.isValidTenantId("a/b"));
+        assertFalse(TenantRegistry.isValidTenantId(""));
+        assertTrue(TenantRegistry.isValidTenantId("user-42_x"));
+        try (TenantRegistry registry = new TenantRegistry(root, 1)) {
+            registry.withTenant("..", services -> null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testServerRoutesRequestsToTenants() throws Exception {
+        // Arrange
+        HttpClient client = HttpClient.newHttpClient();
+        try (PomodoroServer server = new PomodoroServer(0, new TenantRegistry(root, 10))) {
+            server.start();
+            String base = "http://localhost:" + server.getPort() + "/tenants/alice/tasks";
+
+            // Act
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\": \"Write report\", \"priority\": \"High\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> started = client.send(HttpRequest.newBuilder(URI.create(base + "/1/start"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> deleteInProgress = client.send(HttpRequest.newBuilder(URI.create(base + "/1"))
+                .DELETE().build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(base + "/99/pause"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> otherTenant = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.getPort() + "/tenants/bob/tasks")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            // Assert
+            assertEquals(201, created.statusCode());
+            assertTrue(created.body().contains("\"Write report\""));
+            assertEquals(200, started.statusCode());
+            assertTrue(started.body().contains("\"inProgress\":true"));
+            assertEquals(409, deleteInProgress.statusCode());
+            assertEquals(404, missing.statusCode());
+            assertEquals("[]", otherTenant.body());
+        }
+    }
+}
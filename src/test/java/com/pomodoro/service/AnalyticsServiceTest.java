@@ -0,0 +1,146 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.CompletedSessions;
+import com.pomodoro.model.Task;
+import com.pomodoro.model.TaskStats;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Unit tests for AnalyticsService class.
+ * Tests versioned, cached snapshots and snapshotting while sessions are being recorded.
+ */
+public class AnalyticsServiceTest {
+    private AnalyticsService analyticsService;
+
+    @Before
+    public void setUp() {
+        analyticsService = new AnalyticsService(new TestDataManager());
+    }
+
+    @Test
+    public void testSnapshotIsCachedUntilStatsChange() {
+        // Arrange
+        AnalyticsSnapshot first = analyticsService.snapshot();
+
+        // Act
+        AnalyticsSnapshot unchanged = analyticsService.snapshot();
+        analyticsService.recordPomodoro(completedTask("Write report"), 1500);
+        AnalyticsSnapshot changed = analyticsService.snapshot();
+
+        // Assert
+        assertSame(first, unchanged);
+        assertNotSame(first, changed);
+        assertEquals(first.getVersion() + 1, changed.getVersion());
+        assertEquals(first.getTotalPomodoros() + 1, changed.getTotalPomodoros());
+        assertTrue(changed.getTaskStats().stream().anyMatch(stats -> stats.getTaskName().equals("Write report")));
+        long today = PeriodBucket.DAY.bucketOf(changed.getToday());
+        int before = first.getSeries(PeriodBucket.DAY) != null ? first.getSeries(PeriodBucket.DAY).getCount(today) : 0;
+        assertEquals(before + 1, changed.getSeries(PeriodBucket.DAY).getCount(today));
+    }
+
+    @Test
+    public void testListenersShareOneStatsSnapshot() {
+        // Arrange
+        List<Map<String, TaskStats>> received = new ArrayList<>();
+        analyticsService.addListener((stats, total) -> received.add(stats));
+        analyticsService.addListener((stats, total) -> received.add(stats));
+        TaskStatsSnapshot before = analyticsService.getTaskStats();
+
+        // Act
+        analyticsService.recordPomodoro(completedTask("Write report"), 1500);
+
+        // Assert
+        assertEquals(2, received.size());
+        assertSame(received.get(0), received.get(1));
+        assertSame(analyticsService.getTaskStats(), received.get(0));
+        assertEquals(timeSpent(before, "Write report") + 1500, timeSpent(received.get(0), "Write report"));
+        assertEquals(before.getVersion() + 1, analyticsService.getVersion());
+        assertNotEquals(timeSpent(before, "Write report"), timeSpent(received.get(0), "Write report"));
+    }
+
+    @Test
+    public void testSessionWithoutCompletionTimeIsRecordedAsNow() {
+        // Arrange
+        Task task = new Task("Unfinished", 1);
+
+        // Act
+        analyticsService.recordPomodoro(task, 1500);
+
+        // Assert: the statistics and the stored session agree on when it happened
+        LocalDateTime completionTime = analyticsService.getTaskStats().get("Unfinished").getCompletionTime();
+        assertNotNull(completionTime);
+        CompletedSessions sessions = analyticsService.getSessionHistory();
+        assertEquals(completionTime.atZone(ZoneId.systemDefault()).toEpochSecond(),
+            sessions.getCompletionEpoch(sessions.size() - 1));
+    }
+
+    @Test
+    public void testSessionsNeverEndBeforeTheLastOne() {
+        // Arrange
+        analyticsService.recordPomodoro(completedTask("Now"), 1500);
+        Task earlier = completedTask("Earlier");
+        earlier.setCompletionTime(LocalDateTime.now().minusDays(3));
+
+        // Act
+        analyticsService.recordPomodoro(earlier, 1500);
+
+        // Assert: the late session is stored, and counted, as ending with the previous one
+        CompletedSessions sessions = analyticsService.getSessionHistory();
+        long last = sessions.getCompletionEpoch(sessions.size() - 1);
+        assertEquals(sessions.getCompletionEpoch(sessions.size() - 2), last);
+        assertEquals(last, analyticsService.getTaskStats().get("Earlier").getCompletionTime()
+            .atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+
+    private static long timeSpent(Map<String, TaskStats> stats, String taskName) {
+        TaskStats taskStats = stats.get(taskName);
+        return taskStats != null ? taskStats.getTotalTimeSpent() : 0;
+    }
+
+    @Test
+    public void testSnapshotsAreConsistentWhileRecording() throws Exception {
+        // Arrange
+        int sessions = 20_000;
+        int before = analyticsService.getTotalPomodoros();
+        long hoursBefore = sum(analyticsService.getSessionsByHour());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(() -> {
+            Task task = completedTask("Task");
+            for (int i = 0; i < sessions; i++) {
+                analyticsService.recordPomodoro(task, 60);
+            }
+        });
+
+        // Act & Assert - every snapshot agrees with itself, whatever version it caught
+        while (!writer.isDone()) {
+            AnalyticsSnapshot snapshot = analyticsService.snapshot();
+            assertEquals(snapshot.getTotalPomodoros() - before, sum(snapshot.getSessionsByHour()) - hoursBefore);
+        }
+        writer.get();
+        executor.shutdown();
+        assertEquals(before + sessions, analyticsService.snapshot().getTotalPomodoros());
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static Task completedTask(String name) {
+        Task task = new Task(name, 1);
+        task.setCompleted(true);
+        task.setCompletionTime(LocalDateTime.now());
+        return task;
+    }
+}
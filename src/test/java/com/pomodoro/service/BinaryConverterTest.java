@@ -0,0 +1,85 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.AnalyticsData;
+import com.pomodoro.model.Task;
+import com.pomodoro.model.TaskStats;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for BinaryConverter class.
+ * Tests that tasks and analytics survive a round trip through the binary format.
+ */
+public class BinaryConverterTest {
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("pomodoro", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testTasksRoundTrip() throws IOException {
+        // Arrange
+        Task task = new Task("Пошта", 1);
+        task.setId(42);
+        task.setIndex(5);
+        task.setInProgress(true);
+        task.setCompletionTime(LocalDateTime.of(2024, 12, 26, 18, 42, 19));
+
+        // Act
+        try (OutputStream out = Files.newOutputStream(file)) {
+            BinaryConverter.writeTasks(List.of(task), out);
+        }
+        List<Task> tasks = BinaryConverter.readTasks(file);
+
+        // Assert
+        assertEquals(1, tasks.size());
+        Task loaded = tasks.get(0);
+        assertEquals(42, loaded.getId());
+        assertEquals("Пошта", loaded.getName());
+        assertEquals(1, loaded.getPriority());
+        assertEquals(5, loaded.getIndex());
+        assertTrue(loaded.isInProgress());
+        assertFalse(loaded.isCompleted());
+        assertEquals(task.getCompletionTime(), loaded.getCompletionTime());
+    }
+
+    @Test
+    public void testAnalyticsRoundTrip() throws IOException {
+        // Arrange
+        TaskStats stats = new TaskStats("Write report");
+        stats.addPomodoro(1500, null);
+
+        // Act
+        try (OutputStream out = Files.newOutputStream(file)) {
+            BinaryConverter.writeAnalytics(Map.of("Write report", stats), 3, out);
+        }
+        AnalyticsData data = BinaryConverter.readAnalytics(file);
+
+        // Assert
+        assertEquals(3, data.getTotalPomodoros());
+        assertEquals(1500, data.getTaskStats().get("Write report").getTotalTimeSpent());
+        assertNull(data.getTaskStats().get("Write report").getCompletionTime());
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsJsonFile() throws IOException {
+        Files.writeString(file, "[]");
+        BinaryConverter.readTasks(file);
+    }
+}
@@ -0,0 +1,92 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for CountdownTimer class.
+ * Tests deadline-based remaining time, pausing and refresh scheduling against a controllable clock.
+ */
+public class CountdownTimerTest {
+    private static final long MILLI = 1_000_000L;
+    private static final long SECOND = 1_000 * MILLI;
+
+    private long now;
+    private CountdownTimer countdown;
+
+    @Before
+    public void setUp() {
+        now = 5 * SECOND; // Arbitrary origin, as with System.nanoTime()
+        countdown = new CountdownTimer(() -> now);
+    }
+
+    @Test
+    public void testRemainingTimeFollowsTheClockNotTheRefreshes() {
+        // Arrange
+        countdown.start(25 * 60);
+
+        // Act - one refresh after a 90 second stall instead of 90 one-second ticks
+        now += 90 * SECOND + 300 * MILLI;
+
+        // Assert
+        assertEquals(25 * 60 - 90, countdown.getRemainingSeconds());
+        assertTrue(countdown.isRunning());
+        now += 25 * 60 * SECOND;
+        assertTrue(countdown.isFinished());
+        assertFalse(countdown.isRunning());
+        assertEquals(0, countdown.getRemainingSeconds());
+    }
+
+    @Test
+    public void testDisplayRoundsUpToWholeSeconds() {
+        // Arrange
+        countdown.start(60);
+
+        // Act & Assert
+        assertEquals(60, countdown.getRemainingSeconds());
+        now += 1;
+        assertEquals(60, countdown.getRemainingSeconds());
+        now += SECOND - 1;
+        assertEquals(59, countdown.getRemainingSeconds());
+        now += 59 * SECOND - 1;
+        assertEquals(1, countdown.getRemainingSeconds());
+        assertFalse(countdown.isFinished());
+    }
+
+    @Test
+    public void testNextRefreshLandsOnTheSecondBoundary() {
+        // Arrange
+        countdown.start(10);
+
+        // Act & Assert
+        assertEquals(SECOND, countdown.nanosUntilNextSecond());
+        now += 1_250 * MILLI; // A refresh that fired 250ms late
+        assertEquals(750 * MILLI, countdown.nanosUntilNextSecond());
+        now += 750 * MILLI;
+        assertEquals(8, countdown.getRemainingSeconds());
+        now += 8 * SECOND;
+        assertEquals(0, countdown.nanosUntilNextSecond());
+    }
+
+    @Test
+    public void testPauseKeepsTimeLeft() {
+        // Arrange
+        countdown.start(60);
+        now += 20 * SECOND;
+
+        // Act
+        countdown.pause();
+        now += 600 * SECOND;
+
+        // Assert
+        assertFalse(countdown.isRunning());
+        assertEquals(40, countdown.getRemainingSeconds());
+        countdown.resume();
+        now += 30 * SECOND;
+        assertEquals(10, countdown.getRemainingSeconds());
+        countdown.reset(25);
+        assertFalse(countdown.isRunning());
+        assertEquals(25, countdown.getRemainingSeconds());
+    }
+}
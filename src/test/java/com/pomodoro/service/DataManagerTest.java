@@ -0,0 +1,294 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+import com.pomodoro.model.AnalyticsData;
+import com.pomodoro.model.Settings;
+import com.pomodoro.model.Task;
+import com.pomodoro.model.TaskStats;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for DataManager class.
+ * Tests that changes are batched as the persistence policy allows,
+ * that unchanged data is not written, that only modified tasks are journaled,
+ * that failed writes are retried by the next save, that journal records
+ * already folded into a snapshot are not replayed again and that damaged
+ * snapshots are kept aside rather than overwritten.
+ */
+public class DataManagerTest {
+    private Path dataDir;
+    private DataManager dataManager;
+
+    private void open(PersistencePolicy policy) throws IOException {
+        dataDir = Files.createTempDirectory("pomodoro-data");
+        dataManager = new DataManager(dataDir, StorageFormat.JSON, policy);
+    }
+
+    /**
+     * Closes the manager and removes its directory.
+     */
+    @After
+    public void tearDown() throws IOException {
+        dataManager.close();
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void addTask(int index) {
+        dataManager.appendTaskRecord(JournalRecord.taskAdded(index, new Task("Task " + index, 1)));
+    }
+
+    private int journaledRecords() {
+        return new SessionJournal(dataDir.resolve("tasks.journal")).readAll().size();
+    }
+
+    private void awaitJournaledRecords(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (journaledRecords() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, journaledRecords());
+    }
+
+    @Test
+    public void testChangesWaitForCountThreshold() throws Exception {
+        // Arrange
+        open(new PersistencePolicy(Duration.ofHours(1), 3));
+
+        // Act
+        addTask(0);
+        addTask(1);
+        Thread.sleep(100);
+        int beforeThreshold = journaledRecords();
+        addTask(2);
+
+        // Assert
+        assertEquals(0, beforeThreshold);
+        awaitJournaledRecords(3);
+    }
+
+    @Test
+    public void testChangesAreWrittenAfterDelay() throws Exception {
+        // Arrange
+        open(new PersistencePolicy(Duration.ofMillis(200), 1_000));
+
+        // Act
+        addTask(0);
+        int rightAway = journaledRecords();
+
+        // Assert
+        assertEquals(0, rightAway);
+        awaitJournaledRecords(1);
+    }
+
+    @Test
+    public void testFlushWritesPendingChangesRightAway() throws Exception {
+        // Arrange
+        open(new PersistencePolicy(Duration.ofHours(1), 1_000));
+        addTask(0);
+
+        // Act
+        dataManager.flush();
+
+        // Assert
+        assertEquals(1, journaledRecords());
+    }
+
+    @Test
+    public void testUnchangedDataIsNotWritten() throws Exception {
+        // Arrange
+        open(PersistencePolicy.IMMEDIATE);
+        Settings settings = new Settings();
+        dataManager.saveSettings(settings);
+        dataManager.flush();
+        Files.delete(dataDir.resolve("settings.json"));
+
+        // Act
+        AnalyticsData analytics = dataManager.loadAnalytics();
+        dataManager.saveSettings(settings);
+        dataManager.saveTasks(dataManager.loadTasks());
+        dataManager.saveAnalytics(analytics.getTaskStats(), analytics.getTotalPomodoros());
+        dataManager.flush();
+
+        // Assert
+        assertFalse(Files.exists(dataDir.resolve("settings.json")));
+        assertFalse(Files.exists(dataDir.resolve("tasks.json")));
+        assertFalse(Files.exists(dataDir.resolve("analytics.json")));
+    }
+
+    @Test
+    public void testChangedDataIsWritten() throws Exception {
+        // Arrange
+        open(PersistencePolicy.IMMEDIATE);
+        Settings settings = new Settings();
+        dataManager.saveSettings(settings);
+        addTask(0);
+
+        // Act
+        settings.setWorkInterval(settings.getWorkInterval() + 60);
+        dataManager.saveSettings(settings);
+        dataManager.saveTasks(List.of(new Task("Task 0", 1), new Task("Task 1", 1)));
+        dataManager.flush();
+
+        // Assert
+        assertEquals(settings.getWorkInterval(), dataManager.loadSettings().getWorkInterval());
+        assertEquals(2, dataManager.loadTasks().size());
+        assertEquals(0, journaledRecords());
+    }
+
+    @Test
+    public void testSavingTasksJournalsOnlyModifiedTasks() throws Exception {
+        // Arrange
+        open(PersistencePolicy.IMMEDIATE);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task task = new Task("Task " + i, 1);
+            task.setIndex(i);
+            tasks.add(task);
+        }
+        dataManager.saveTasks(tasks);
+        List<Task> loaded = dataManager.loadTasks();
+
+        // Act
+        loaded.get(7).setName("Renamed");
+        loaded.get(42).setPriority(3);
+        loaded.get(50).setPriority(1);
+        dataManager.saveTasks(loaded);
+        dataManager.flush();
+
+        // Assert
+        assertEquals(2, journaledRecords());
+        List<Task> reloaded = dataManager.loadTasks();
+        assertEquals(100, reloaded.size());
+        assertEquals("Renamed", reloaded.get(7).getName());
+        assertEquals(3, reloaded.get(42).getPriority());
+    }
+
+    @Test
+    public void testSavingJournaledAnalyticsWritesNoSnapshot() throws Exception {
+        // Arrange
+        open(PersistencePolicy.IMMEDIATE);
+        dataManager.loadAnalytics();
+        LocalDateTime completionTime = LocalDateTime.of(2024, 3, 1, 10, 0);
+        TaskStats stats = new TaskStats("Task");
+        stats.addPomodoro(1500, completionTime);
+        dataManager.appendAnalyticsRecord(JournalRecord.pomodoroRecorded("Task", 1500, completionTime));
+
+        // Act
+        dataManager.saveAnalytics(Map.of("Task", stats), 1);
+        dataManager.flush();
+
+        // Assert
+        assertFalse(Files.exists(dataDir.resolve("analytics.json")));
+        AnalyticsData loaded = dataManager.loadAnalytics();
+        assertEquals(1, loaded.getTotalPomodoros());
+        assertEquals(1500, loaded.getTaskStats().get("Task").getTotalTimeSpent());
+    }
+
+    @Test
+    public void testFailedWritesAreRetriedByNextSave() throws Exception {
+        // Arrange: a non-empty directory in place of each snapshot makes writing it fail
+        open(PersistencePolicy.IMMEDIATE);
+        Path tasksBlocker = Files.createDirectories(dataDir.resolve("tasks.json").resolve("blocker"));
+        Path analyticsBlocker = Files.createDirectories(dataDir.resolve("analytics.json").resolve("blocker"));
+        Task task = new Task("Task", 1);
+        task.setIndex(0);
+        TaskStats stats = new TaskStats("Task");
+        stats.addPomodoro(1500, LocalDateTime.of(2024, 3, 1, 10, 0));
+        dataManager.saveTasks(List.of(task));
+        dataManager.saveAnalytics(Map.of("Task", stats), 1);
+        dataManager.flush();
+        Files.delete(tasksBlocker);
+        Files.delete(tasksBlocker.getParent());
+        Files.delete(analyticsBlocker);
+        Files.delete(analyticsBlocker.getParent());
+
+        // Act
+        dataManager.saveTasks(List.of(task));
+        dataManager.saveAnalytics(Map.of("Task", stats), 1);
+        dataManager.flush();
+
+        // Assert
+        assertEquals(List.of("Task"), dataManager.loadTasks().stream().map(Task::getName).toList());
+        AnalyticsData analytics = dataManager.loadAnalytics();
+        assertEquals(1, analytics.getTotalPomodoros());
+        assertEquals(1500, analytics.getTaskStats().get("Task").getTotalTimeSpent());
+    }
+
+    @Test
+    public void testRecordsLeftBehindBySnapshotAreNotReplayed() throws Exception {
+        // Arrange
+        open(PersistencePolicy.IMMEDIATE);
+        addTask(0);
+        addTask(1);
+        dataManager.flush();
+        byte[] journal = Files.readAllBytes(dataDir.resolve("tasks.journal"));
+        dataManager.saveTasks(List.of(new Task("Task 0", 1), new Task("Task 1", 1)));
+        dataManager.flush();
+
+        // Act
+        // A crash between replacing the snapshot and clearing the journal leaves the old records
+        Files.write(dataDir.resolve("tasks.journal"), journal);
+        dataManager.close();
+        dataManager = new DataManager(dataDir, StorageFormat.JSON, PersistencePolicy.IMMEDIATE);
+        addTask(2);
+        List<Task> tasks = dataManager.loadTasks();
+
+        // Assert
+        assertEquals(3, tasks.size());
+        assertEquals("Task 2", tasks.get(2).getName());
+    }
+
+    @Test
+    public void testSnapshotsWithoutSequenceReplayWholeJournal() throws Exception {
+        // Arrange
+        dataDir = Files.createTempDirectory("pomodoro-data");
+        Files.writeString(dataDir.resolve("tasks.json"), "[{\"id\":1,\"name\":\"Old\",\"priority\":1}]");
+        Files.writeString(dataDir.resolve("tasks.journal"),
+            "{\"type\":\"TASK_ADDED\",\"index\":1,\"task\":{\"id\":2,\"name\":\"Journaled\",\"priority\":1}}"
+                + System.lineSeparator());
+
+        // Act
+        dataManager = new DataManager(dataDir, StorageFormat.JSON, PersistencePolicy.IMMEDIATE);
+        addTask(2);
+        List<Task> tasks = dataManager.loadTasks();
+
+        // Assert
+        assertEquals(3, tasks.size());
+        assertEquals("Journaled", tasks.get(1).getName());
+        assertEquals("Task 2", tasks.get(2).getName());
+    }
+
+    @Test
+    public void testDamagedSnapshotIsMovedAside() throws Exception {
+        // Arrange
+        dataDir = Files.createTempDirectory("pomodoro-data");
+        Files.writeString(dataDir.resolve("tasks.json"), "[{\"id\":1,\"name\":");
+        dataManager = new DataManager(dataDir, StorageFormat.JSON, PersistencePolicy.IMMEDIATE);
+        addTask(0);
+
+        // Act
+        List<Task> tasks = dataManager.loadTasks();
+        dataManager.saveTasks(List.of(new Task("Task 0", 1), new Task("Task 1", 1)));
+        dataManager.flush();
+
+        // Assert
+        assertEquals(List.of("Task 0"), tasks.stream().map(Task::getName).toList());
+        assertEquals("[{\"id\":1,\"name\":", Files.readString(dataDir.resolve("tasks.json.corrupt")));
+        assertEquals(2, dataManager.loadTasks().size());
+    }
+}
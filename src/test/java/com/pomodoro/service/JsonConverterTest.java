@@ -0,0 +1,77 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import com.pomodoro.model.AnalyticsData;
+import com.pomodoro.model.Task;
+import com.pomodoro.model.TaskStats;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for JsonConverter class.
+ * Tests the streaming task and analytics formats.
+ */
+public class JsonConverterTest {
+
+    @Test
+    public void testTasksRoundTrip() throws IOException {
+        // Arrange
+        Task task = new Task("Write report", 2);
+        task.setCompleted(true);
+        task.setPlannedDuration(900);
+        task.setCompletionTime(LocalDateTime.of(2024, 12, 26, 18, 42, 19));
+        StringWriter out = new StringWriter();
+
+        // Act
+        JsonConverter.writeTasks(List.of(task, new Task("Read book", 3)), out);
+        List<Task> tasks = JsonConverter.jsonToTasks(out.toString());
+
+        // Assert
+        assertEquals(2, tasks.size());
+        assertEquals("Write report", tasks.get(0).getName());
+        assertEquals(2, tasks.get(0).getPriority());
+        assertTrue(tasks.get(0).isCompleted());
+        assertEquals(900, tasks.get(0).getPlannedDuration());
+        assertEquals(task.getCompletionTime(), tasks.get(0).getCompletionTime());
+        assertNull(tasks.get(1).getCompletionTime());
+    }
+
+    @Test
+    public void testAnalyticsRoundTrip() throws IOException {
+        // Arrange
+        TaskStats stats = new TaskStats("Write report");
+        stats.addPomodoro(1500, LocalDateTime.of(2024, 12, 26, 18, 42));
+        Map<String, TaskStats> taskStats = new HashMap<>();
+        taskStats.put(stats.getTaskName(), stats);
+        StringWriter out = new StringWriter();
+
+        // Act
+        JsonConverter.writeAnalytics(taskStats, 7, out);
+        AnalyticsData data = JsonConverter.jsonToAnalytics(out.toString());
+
+        // Assert
+        assertEquals(7, data.getTotalPomodoros());
+        TaskStats loaded = data.getTaskStats().get("Write report");
+        assertEquals(1500, loaded.getTotalTimeSpent());
+        assertEquals(stats.getCompletionTime(), loaded.getCompletionTime());
+    }
+
+    @Test
+    public void testReadsExistingAnalyticsFormat() {
+        // Arrange
+        String json = "{\"taskStats\":{\"12121\":{\"taskName\":\"12121\",\"totalTimeSpent\":0,"
+            + "\"completionTime\":\"2024-12-26T18:42:19.433503700\"}},\"totalPomodoros\":2}";
+
+        // Act
+        AnalyticsData data = JsonConverter.jsonToAnalytics(json);
+
+        // Assert
+        assertEquals(2, data.getTotalPomodoros());
+        assertEquals("12121", data.getTaskStats().get("12121").getTaskName());
+    }
+}
@@ -0,0 +1,70 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Unit tests for PeriodBucket class.
+ * Tests bucket arithmetic, bucket starts and labels across year boundaries.
+ */
+public class PeriodBucketTest {
+
+    @Test
+    public void testWeeksOfDifferentYearsGetDistinctBuckets() {
+        // Arrange: ISO week 1 of 2024 and of 2025
+        LocalDate week1Of2024 = LocalDate.of(2024, 1, 3);
+        LocalDate week1Of2025 = LocalDate.of(2025, 1, 1);
+
+        // Act
+        long first = PeriodBucket.WEEK.bucketOf(week1Of2024);
+        long second = PeriodBucket.WEEK.bucketOf(week1Of2025);
+
+        // Assert
+        assertNotEquals(first, second);
+        assertEquals("2024-W01", PeriodBucket.WEEK.label(first));
+        assertEquals("2025-W01", PeriodBucket.WEEK.label(second));
+        assertEquals(LocalDate.of(2024, 12, 30), PeriodBucket.WEEK.startOf(second));
+    }
+
+    @Test
+    public void testConsecutiveBucketsAreConsecutiveIds() {
+        // Arrange
+        long december = PeriodBucket.MONTH.bucketOf(LocalDate.of(2024, 12, 15));
+        long sunday = PeriodBucket.WEEK.bucketOf(LocalDate.of(2024, 12, 29));
+        long monday = PeriodBucket.WEEK.bucketOf(LocalDate.of(2024, 12, 30));
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 1, 1), PeriodBucket.MONTH.startOf(december + 1));
+        assertEquals("Jan 2025", PeriodBucket.MONTH.label(december + 1));
+        assertEquals(sunday + 1, monday);
+    }
+
+    @Test
+    public void testInstantUsesLocalDay() {
+        // Arrange: 23:30 UTC is already the next day two hours east
+        long epoch = LocalDateTime.of(2025, 3, 1, 23, 30).toEpochSecond(ZoneOffset.UTC);
+
+        // Act
+        long utcDay = PeriodBucket.DAY.bucketOf(epoch, ZoneOffset.UTC);
+        long eastDay = PeriodBucket.DAY.bucketOf(epoch, ZoneOffset.ofHours(2));
+
+        // Assert
+        assertEquals("03/01/2025", PeriodBucket.DAY.label(utcDay));
+        assertEquals("03/02/2025", PeriodBucket.DAY.label(eastDay));
+    }
+
+    @Test
+    public void testKeysOrderByBucket() {
+        // Arrange
+        PeriodBucket.Key earlier = PeriodBucket.DAY.key(100);
+        PeriodBucket.Key later = PeriodBucket.DAY.key(101);
+
+        // Assert
+        assertTrue(earlier.compareTo(later) < 0);
+        assertEquals(earlier, PeriodBucket.DAY.key(100));
+        assertEquals(PeriodBucket.DAY.label(101), later.toString());
+    }
+}
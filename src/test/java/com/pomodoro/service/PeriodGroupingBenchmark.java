@@ -0,0 +1,87 @@
+package com.pomodoro.service;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.WeekFields;
+import java.util.*;
+
+/**
+ * Compares grouping sessions by formatted period labels with grouping by {@link PeriodBucket} ids.
+ * Not part of the unit test suite; run it directly:
+ * {@code java -cp target/classes:target/test-classes:<deps> com.pomodoro.service.PeriodGroupingBenchmark}
+ */
+public class PeriodGroupingBenchmark {
+    private static final int SESSIONS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        ZoneId zone = ZoneId.systemDefault();
+        long[] completionEpochs = createSessions(zone);
+        System.out.printf("%-8s %-10s %12s %10s%n", "period", "method", "ms", "groups");
+        for (PeriodBucket period : PeriodBucket.values()) {
+            long labelNanos = Long.MAX_VALUE;
+            long bucketNanos = Long.MAX_VALUE;
+            int labelGroups = 0;
+            int bucketGroups = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                labelGroups = groupByLabel(completionEpochs, period, zone);
+                labelNanos = Math.min(labelNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                bucketGroups = groupByBucket(completionEpochs, period, zone);
+                bucketNanos = Math.min(bucketNanos, System.nanoTime() - start);
+            }
+            System.out.printf("%-8s %-10s %12.1f %10d%n", period, "label", labelNanos / 1e6, labelGroups);
+            System.out.printf("%-8s %-10s %12.1f %10d%n", period, "bucket", bucketNanos / 1e6, bucketGroups);
+        }
+    }
+
+    /**
+     * The previous approach: a formatter per call and a map keyed by label.
+     */
+    private static int groupByLabel(long[] completionEpochs, PeriodBucket period, ZoneId zone) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long epoch : completionEpochs) {
+            LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochSecond(epoch), zone);
+            String label = switch (period) {
+                case DAY -> date.format(DateTimeFormatter.ofPattern("MM/dd/yyyy"));
+                case WEEK -> "Week " + date.get(WeekFields.ISO.weekOfWeekBasedYear());
+                case MONTH -> date.format(DateTimeFormatter.ofPattern("MMM yyyy"));
+            };
+            counts.merge(label, 1, Integer::sum);
+        }
+        return counts.size();
+    }
+
+    /**
+     * Bucket ids into a dense counter array, formatting only the labels of non-empty buckets.
+     */
+    private static int groupByBucket(long[] completionEpochs, PeriodBucket period, ZoneId zone) {
+        long first = period.bucketOf(completionEpochs[0], zone);
+        long last = period.bucketOf(completionEpochs[completionEpochs.length - 1], zone);
+        int[] counts = new int[(int) (last - first + 1)];
+        for (long epoch : completionEpochs) {
+            counts[(int) (period.bucketOf(epoch, zone) - first)]++;
+        }
+        int groups = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && period.label(first + i) != null) {
+                groups++;
+            }
+        }
+        return groups;
+    }
+
+    private static long[] createSessions(ZoneId zone) {
+        Random random = new Random(42);
+        long start = LocalDate.now().minusYears(3).atStartOfDay(zone).toEpochSecond();
+        long end = LocalDate.now().atStartOfDay(zone).toEpochSecond();
+        long[] completionEpochs = new long[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            completionEpochs[i] = start + (long) (random.nextDouble() * (end - start));
+        }
+        Arrays.sort(completionEpochs);
+        return completionEpochs;
+    }
+}
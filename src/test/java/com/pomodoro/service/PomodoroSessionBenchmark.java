@@ -0,0 +1,56 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.Settings;
+import com.pomodoro.model.Task;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives simulated pomodoro cycles through PomodoroSession on a fake clock,
+ * one session per thread, to measure the cycle engine without any UI or waiting.
+ * Not part of the unit test suite; run it directly:
+ * {@code java -cp target/classes:target/test-classes:<deps> com.pomodoro.service.PomodoroSessionBenchmark}
+ */
+public class PomodoroSessionBenchmark {
+    private static final int CYCLES_PER_SESSION = 250_000;
+    private static final long SECOND = 1_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-10s %14s %14s%n", "sessions", "cycles", "cycles/s");
+        for (int sessions = 1; sessions <= cores; sessions *= 2) {
+            run(sessions);
+        }
+    }
+
+    private static void run(int sessions) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+        LongAdder cycles = new LongAdder();
+        long start = System.nanoTime();
+        for (int s = 0; s < sessions; s++) {
+            executor.execute(() -> {
+                TestDataManager dataManager = new TestDataManager();
+                TaskManager taskManager = new TaskManager(dataManager, new AnalyticsService(dataManager));
+                taskManager.setEventDispatcher(Runnable::run);
+                long[] now = {0};
+                PomodoroSession session = new PomodoroSession(taskManager,
+                    new Settings(25 * 60, 5 * 60, 15 * 60, 4), () -> now[0]);
+                taskManager.addTask("Simulated", 1);
+                Task task = taskManager.getTaskByIndex(0);
+                for (int i = 0; i < CYCLES_PER_SESSION; i++) {
+                    session.startWork(task);
+                    now[0] += 25 * 60 * SECOND;
+                    session.update();
+                    now[0] += 15 * 60 * SECOND;
+                    session.update();
+                    taskManager.resetTask(task);
+                }
+                cycles.add(CYCLES_PER_SESSION);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-10d %14d %14.0f%n", sessions, cycles.sum(), cycles.sum() / seconds);
+    }
+}
@@ -0,0 +1,127 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.Settings;
+import com.pomodoro.model.Task;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for PomodoroSession class.
+ * Tests the work/break cycle, long break frequency and emitted events against a controllable clock.
+ */
+public class PomodoroSessionTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    private long now;
+    private TaskManager taskManager;
+    private PomodoroSession session;
+    private final List<PomodoroSession.Event> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        TestDataManager dataManager = new TestDataManager();
+        taskManager = new TaskManager(dataManager, new AnalyticsService(dataManager));
+        taskManager.setEventDispatcher(Runnable::run);
+        session = new PomodoroSession(taskManager, new Settings(25 * 60, 5 * 60, 15 * 60, 2), () -> now);
+        session.addListener((event, s) -> events.add(event));
+    }
+
+    @Test
+    public void testWorkEndCompletesTaskAndStartsShortBreak() {
+        // Arrange
+        taskManager.addTask("Write report", 1);
+        Task task = taskManager.getTaskByIndex(0);
+        session.startWork(task);
+
+        // Act
+        now += 25 * 60 * SECOND - 1;
+        boolean early = session.update();
+        now += 1;
+        boolean ended = session.update();
+
+        // Assert
+        assertFalse(early);
+        assertTrue(ended);
+        assertTrue(task.isCompleted());
+        assertNull(session.getCurrentTask());
+        assertEquals(PomodoroSession.Phase.SHORT_BREAK, session.getPhase());
+        assertEquals(5 * 60, session.getRemainingSeconds());
+        assertEquals(List.of(PomodoroSession.Event.WORK_STARTED, PomodoroSession.Event.WORK_COMPLETED,
+            PomodoroSession.Event.BREAK_STARTED), events);
+    }
+
+    @Test
+    public void testEverySecondBreakIsLong() {
+        // Arrange
+        taskManager.addTask("First", 1);
+        taskManager.addTask("Second", 1);
+
+        // Act
+        runCycle(taskManager.getTaskByIndex(0));
+        PomodoroSession.Phase firstBreak = session.getPhase();
+        now += 5 * 60 * SECOND;
+        session.update();
+        runCycle(taskManager.getTaskByIndex(1));
+
+        // Assert
+        assertEquals(PomodoroSession.Phase.SHORT_BREAK, firstBreak);
+        assertEquals(PomodoroSession.Phase.LONG_BREAK, session.getPhase());
+        assertEquals(0, session.getCompletedSessions());
+        now += 15 * 60 * SECOND;
+        assertTrue(session.update());
+        assertEquals(PomodoroSession.Phase.WORK, session.getPhase());
+        assertEquals(PomodoroSession.Event.BREAK_ENDED, events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testPauseHoldsTheCountdownAndResetRewindsIt() {
+        // Arrange
+        taskManager.addTask("Read book", 2);
+        Task task = taskManager.getTaskByIndex(0);
+        session.startWork(task);
+        now += 10 * 60 * SECOND;
+
+        // Act
+        session.pause();
+        now += 60 * 60 * SECOND;
+
+        // Assert
+        assertFalse(session.update());
+        assertFalse(task.isInProgress());
+        assertEquals(15 * 60, session.getRemainingSeconds());
+        session.reset();
+        assertNull(session.getCurrentTask());
+        assertEquals(25 * 60, session.getRemainingSeconds());
+        assertEquals(PomodoroSession.Event.WORK_RESET, events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testSkipBreakReturnsToWork() {
+        // Arrange
+        taskManager.addTask("Task", 1);
+        session.startWork(taskManager.getTaskByIndex(0));
+        session.completeWork();
+
+        // Act
+        session.skipBreak();
+
+        // Assert
+        assertEquals(PomodoroSession.Phase.WORK, session.getPhase());
+        assertFalse(session.isRunning());
+        assertEquals(25 * 60, session.getRemainingSeconds());
+        assertEquals(1, completedTaskCount());
+    }
+
+    private void runCycle(Task task) {
+        session.startWork(task);
+        now += 25 * 60 * SECOND;
+        session.update();
+    }
+
+    private int completedTaskCount() {
+        return taskManager.getFilteredTasks("Completed").size();
+    }
+}
@@ -0,0 +1,102 @@
+package com.pomodoro.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the previous sequential scans for the hour and day-of-week histograms with
+ * {@link SessionAggregation} on pools of increasing parallelism, at millions of sessions.
+ * Not part of the unit test suite; run it directly:
+ * {@code java -cp target/classes:target/test-classes:<deps> com.pomodoro.service.SessionAggregationBenchmark}
+ */
+public class SessionAggregationBenchmark {
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) throws IOException {
+        ZoneId zone = ZoneId.systemDefault();
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-10s %-14s %10s%n", "sessions", "method", "ms");
+        for (int sessions : new int[]{1_000_000, 4_000_000, 16_000_000}) {
+            Path file = Files.createTempFile("pomodoro-sessions", ".dat");
+            Files.delete(file);
+            try (SessionStore history = createHistory(file, sessions, zone)) {
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    blackhole(scanByHour(history, zone)[0] + scanByDayOfWeek(history, zone)[0]);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                System.out.printf("%-10d %-14s %10.1f%n", sessions, "two scans", best / 1e6);
+
+                for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+                    ForkJoinPool pool = new ForkJoinPool(parallelism);
+                    best = Long.MAX_VALUE;
+                    for (int round = 0; round < ROUNDS; round++) {
+                        long start = System.nanoTime();
+                        blackhole(SessionAggregation.aggregate(history.view(), zone, pool).getSessionsByHour()[0]);
+                        best = Math.min(best, System.nanoTime() - start);
+                    }
+                    pool.shutdown();
+                    System.out.printf("%-10d %-14s %10.1f%n", sessions, "fork/join x" + parallelism, best / 1e6);
+                }
+            }
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * The previous hour histogram: a full scan with a zone offset lookup per session.
+     */
+    private static long[] scanByHour(SessionStore history, ZoneId zone) {
+        long[] hours = new long[24];
+        history.scan((taskId, startEpoch, duration, completionEpoch) -> {
+            long local = completionEpoch + offsetSeconds(zone, completionEpoch);
+            hours[Math.floorMod(local, SECONDS_PER_DAY) / 3600]++;
+        });
+        return hours;
+    }
+
+    /**
+     * The previous day-of-week histogram, a second full scan.
+     */
+    private static long[] scanByDayOfWeek(SessionStore history, ZoneId zone) {
+        long[] days = new long[7];
+        history.scan((taskId, startEpoch, duration, completionEpoch) -> {
+            long localDay = Math.floorDiv(completionEpoch + offsetSeconds(zone, completionEpoch), SECONDS_PER_DAY);
+            days[Math.floorMod(localDay + 3, 7)]++;
+        });
+        return days;
+    }
+
+    private static int offsetSeconds(ZoneId zone, long epochSecond) {
+        return zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    private static SessionStore createHistory(Path file, int sessions, ZoneId zone) throws IOException {
+        Random random = new Random(42);
+        long start = LocalDate.now().minusYears(10).atStartOfDay(zone).toEpochSecond();
+        long end = LocalDate.now().atStartOfDay(zone).toEpochSecond();
+        long[] completionEpochs = new long[sessions];
+        for (int i = 0; i < sessions; i++) {
+            completionEpochs[i] = start + (long) (random.nextDouble() * (end - start));
+        }
+        Arrays.sort(completionEpochs);
+        SessionStore history = new SessionStore(file);
+        for (long completionEpoch : completionEpochs) {
+            history.append(0, completionEpoch - 1500, 1500, completionEpoch);
+        }
+        return history;
+    }
+
+    private static long sink;
+
+    private static void blackhole(long value) {
+        sink += value;
+    }
+}
@@ -0,0 +1,101 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.CompletedSessions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for SessionAggregation class.
+ * Tests that chunked, parallel aggregation matches counting session by session,
+ * including across daylight saving changes and across a year end.
+ */
+public class SessionAggregationTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/Kyiv");
+    private Path file;
+    private SessionStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("pomodoro-sessions", ".dat");
+        Files.delete(file);
+        store = new SessionStore(file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        store.close();
+        Files.delete(file);
+    }
+
+    private void append(long completionEpoch) {
+        store.append(0, completionEpoch - 1500, 1500, completionEpoch);
+    }
+
+    @Test
+    public void testParallelChunksMatchSequentialCounts() {
+        // Arrange: three years of sessions, spanning six daylight saving changes
+        Random random = new Random(7);
+        long epoch = LocalDate.of(2022, 1, 1).atStartOfDay(ZONE).toEpochSecond();
+        for (int i = 0; i < 50_000; i++) {
+            epoch += random.nextInt(4 * 3600);
+            append(epoch);
+        }
+        CompletedSessions history = store.view();
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // Act
+        SessionAggregation aggregation = SessionAggregation.aggregate(history, ZONE, pool, 1_000);
+
+        // Assert
+        assertCountsMatch(history, aggregation);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSessionsAcrossYearEnd() {
+        // Arrange
+        append(LocalDateTime.of(2024, 12, 30, 22, 0).atZone(ZONE).toEpochSecond());
+        append(LocalDateTime.of(2025, 3, 1, 9, 0).atZone(ZONE).toEpochSecond());
+        append(LocalDateTime.of(2025, 3, 2, 14, 0).atZone(ZONE).toEpochSecond());
+        append(LocalDateTime.of(2025, 3, 3, 9, 0).atZone(ZONE).toEpochSecond());
+        CompletedSessions history = store.view();
+
+        // Act
+        SessionAggregation aggregation = SessionAggregation.aggregate(history, ZONE, ForkJoinPool.commonPool(), 2);
+
+        // Assert
+        assertCountsMatch(history, aggregation);
+        assertEquals(1, aggregation.getSessionsByHour()[22]);
+        assertEquals(2, aggregation.getSessionsByDayOfWeek()[0]);
+    }
+
+    @Test
+    public void testEmptyHistory() {
+        // Act
+        SessionAggregation aggregation = SessionAggregation.aggregate(store.view(), ZONE);
+
+        // Assert
+        assertArrayEquals(new long[24], aggregation.getSessionsByHour());
+        assertArrayEquals(new long[7], aggregation.getSessionsByDayOfWeek());
+    }
+
+    private static void assertCountsMatch(CompletedSessions history, SessionAggregation aggregation) {
+        long[] hours = new long[24];
+        long[] days = new long[7];
+        for (int i = 0; i < history.size(); i++) {
+            ZonedDateTime time = Instant.ofEpochSecond(history.getCompletionEpoch(i)).atZone(ZONE);
+            hours[time.getHour()]++;
+            days[time.getDayOfWeek().getValue() - 1]++;
+        }
+        assertArrayEquals(hours, aggregation.getSessionsByHour());
+        assertArrayEquals(days, aggregation.getSessionsByDayOfWeek());
+    }
+}
@@ -0,0 +1,86 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.Task;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unit tests for SessionJournal class.
+ * Tests appending, reading back and clearing journal records.
+ */
+public class SessionJournalTest {
+    private Path journalFile;
+    private SessionJournal journal;
+
+    /**
+     * Creates a journal backed by a temporary file.
+     */
+    @Before
+    public void setUp() throws IOException {
+        journalFile = Files.createTempFile("pomodoro", ".journal");
+        Files.delete(journalFile);
+        journal = new SessionJournal(journalFile);
+    }
+
+    /**
+     * Removes the temporary journal file.
+     */
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(journalFile);
+    }
+
+    @Test
+    public void testAppendAndReadBack() throws IOException {
+        // Arrange
+        LocalDateTime completionTime = LocalDateTime.of(2024, 12, 26, 18, 42);
+
+        // Act
+        journal.append(JournalRecord.taskAdded(0, new Task("Write report", 1)));
+        journal.append(JournalRecord.pomodoroRecorded("Write report", 1500, completionTime));
+        List<JournalRecord> records = new SessionJournal(journalFile).readAll();
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals(JournalRecord.Type.TASK_ADDED, records.get(0).getType());
+        assertEquals("Write report", records.get(0).getTask().getName());
+        assertEquals(JournalRecord.Type.POMODORO_RECORDED, records.get(1).getType());
+        assertEquals(1500, records.get(1).getDuration());
+        assertEquals(completionTime, records.get(1).getCompletionTime());
+    }
+
+    @Test
+    public void testTruncatedTailIsIgnored() throws IOException {
+        // Arrange
+        journal.append(JournalRecord.taskRemoved(3));
+        Files.writeString(journalFile, "{\"type\":\"TASK_AD", StandardOpenOption.APPEND);
+
+        // Act
+        List<JournalRecord> records = journal.readAll();
+
+        // Assert
+        assertEquals(1, records.size());
+        assertEquals(3, records.get(0).getIndex());
+    }
+
+    @Test
+    public void testClear() throws IOException {
+        // Arrange
+        journal.append(JournalRecord.tasksSorted(1));
+
+        // Act
+        journal.clear();
+
+        // Assert
+        assertEquals(0, journal.getRecordCount());
+        assertTrue(journal.readAll().isEmpty());
+    }
+}
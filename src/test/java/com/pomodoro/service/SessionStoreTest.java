@@ -0,0 +1,120 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.CompletedSessions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for SessionStore class.
+ * Tests appending, scanning and reopening the memory-mapped session history.
+ */
+public class SessionStoreTest {
+    private Path dir;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("pomodoro-sessions");
+        file = dir.resolve("sessions.dat");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path path : files.toList()) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testSessionsSurviveReopen() throws IOException {
+        // Arrange
+        try (SessionStore store = new SessionStore(file)) {
+            int id = store.taskId("Write report");
+            store.append(id, 1000, 1500, 2500);
+            store.append(store.taskId("Read book"), 3000, 300, 3300);
+        }
+
+        // Act
+        try (SessionStore store = new SessionStore(file)) {
+            List<String> names = new ArrayList<>();
+            store.scan((taskId, start, duration, completion) -> names.add(store.getTaskName(taskId)));
+
+            // Assert
+            assertEquals(2, store.size());
+            assertEquals(List.of("Write report", "Read book"), names);
+            assertEquals(0, store.taskId("Write report"));
+        }
+    }
+
+    @Test
+    public void testRangeScanAcrossGrowth() throws IOException {
+        // Arrange
+        try (SessionStore store = new SessionStore(file)) {
+            int id = store.taskId("Task");
+            for (int i = 0; i < 10_000; i++) {
+                store.append(id, i * 100L, 60, i * 100L + 60);
+            }
+
+            // Act
+            long[] visited = new long[2];
+            store.scan(500_000, 600_000, (taskId, start, duration, completion) -> {
+                visited[0]++;
+                visited[1] += duration;
+            });
+
+            // Assert
+            assertEquals(10_000, store.size());
+            assertEquals(1000, visited[0]);
+            assertEquals(60_000, visited[1]);
+        }
+    }
+
+    @Test
+    public void testViewKeepsItsSizeAcrossGrowth() throws IOException {
+        // Arrange
+        try (SessionStore store = new SessionStore(file)) {
+            int id = store.taskId("Task");
+            store.append(id, 0, 60, 60);
+            CompletedSessions view = store.view();
+
+            // Act
+            for (int i = 0; i < 10_000; i++) {
+                store.append(id, i * 100L, 60, i * 100L + 60);
+            }
+
+            // Assert
+            assertEquals(1, view.size());
+            assertEquals(60, view.getCompletionEpoch(0));
+            assertEquals(60, view.getDuration(0));
+            assertEquals(id, view.getTaskId(0));
+            assertEquals(10_001, store.view().size());
+        }
+    }
+
+    @Test
+    public void testSessionsMustBeAppendedInCompletionOrder() throws IOException {
+        // Arrange
+        try (SessionStore store = new SessionStore(file)) {
+            int id = store.taskId("Task");
+            store.append(id, 1000, 60, 1060);
+
+            // Act
+            store.append(id, 1000, 60, 1060);
+            assertThrows(IllegalArgumentException.class, () -> store.append(id, 900, 60, 960));
+
+            // Assert
+            assertEquals(2, store.size());
+            assertEquals(1060, store.getLastCompletionEpoch());
+        }
+    }
+}
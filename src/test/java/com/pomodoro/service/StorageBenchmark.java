@@ -0,0 +1,101 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.Task;
+import com.pomodoro.model.TaskStats;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Compares load and save times of the JSON and binary snapshot formats.
+ * Not part of the unit test suite; run it directly:
+ * {@code java -cp target/classes:target/test-classes:<deps> com.pomodoro.service.StorageBenchmark}
+ */
+public class StorageBenchmark {
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("pomodoro-bench");
+        System.out.printf("%-8s %10s %12s %12s %12s %12s%n",
+            "format", "records", "save ms", "load ms", "tasks KB", "stats KB");
+        for (int size : SIZES) {
+            List<Task> tasks = createTasks(size);
+            Map<String, TaskStats> stats = createStats(tasks);
+            for (StorageFormat format : StorageFormat.values()) {
+                Path tasksFile = dir.resolve("tasks" + format.getExtension());
+                Path statsFile = dir.resolve("analytics" + format.getExtension());
+                long saveNanos = Long.MAX_VALUE;
+                long loadNanos = Long.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    save(format, tasks, stats, tasksFile, statsFile);
+                    saveNanos = Math.min(saveNanos, System.nanoTime() - start);
+
+                    start = System.nanoTime();
+                    load(format, tasksFile, statsFile);
+                    loadNanos = Math.min(loadNanos, System.nanoTime() - start);
+                }
+                System.out.printf("%-8s %10d %12.1f %12.1f %12d %12d%n",
+                    format, size, saveNanos / 1e6, loadNanos / 1e6,
+                    Files.size(tasksFile) / 1024, Files.size(statsFile) / 1024);
+                Files.delete(tasksFile);
+                Files.delete(statsFile);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private static void save(StorageFormat format, List<Task> tasks, Map<String, TaskStats> stats,
+                             Path tasksFile, Path statsFile) throws IOException {
+        try (OutputStream tasksOut = new BufferedOutputStream(Files.newOutputStream(tasksFile), 64 * 1024);
+             OutputStream statsOut = new BufferedOutputStream(Files.newOutputStream(statsFile), 64 * 1024)) {
+            if (format == StorageFormat.BINARY) {
+                BinaryConverter.writeTasks(tasks, tasksOut);
+                BinaryConverter.writeAnalytics(stats, tasks.size(), statsOut);
+            } else {
+                JsonConverter.writeTasks(tasks, new OutputStreamWriter(tasksOut, StandardCharsets.UTF_8));
+                JsonConverter.writeAnalytics(stats, tasks.size(), new OutputStreamWriter(statsOut, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void load(StorageFormat format, Path tasksFile, Path statsFile) throws IOException {
+        if (format == StorageFormat.BINARY) {
+            BinaryConverter.readTasks(tasksFile);
+            BinaryConverter.readAnalytics(statsFile);
+        } else {
+            JsonConverter.readTasks(tasksFile);
+            JsonConverter.readAnalytics(statsFile);
+        }
+    }
+
+    private static List<Task> createTasks(int size) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("Task " + i, 1 + random.nextInt(3));
+            task.setIndex(i);
+            if (random.nextBoolean()) {
+                task.setCompleted(true);
+                task.setCompletionTime(base.plusMinutes(random.nextInt(3_000_000)));
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static Map<String, TaskStats> createStats(List<Task> tasks) {
+        Map<String, TaskStats> stats = new HashMap<>();
+        for (Task task : tasks) {
+            TaskStats taskStats = new TaskStats(task.getName());
+            taskStats.addPomodoro(task.getPlannedDuration(), task.getCompletionTime());
+            stats.put(task.getName(), taskStats);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,151 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.Task;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress tests for TaskManager under concurrent use.
+ * Tests that concurrent writers lose no updates and that only one task can be active.
+ */
+public class TaskManagerConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int TASKS_PER_THREAD = 2000;
+
+    private TaskManager taskManager;
+    private final AtomicInteger addedEvents = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        TestDataManager dataManager = new TestDataManager();
+        taskManager = new TaskManager(dataManager, new AnalyticsService(dataManager));
+        taskManager.setEventDispatcher(Runnable::run);
+        taskManager.addListener(events -> events.forEach(event -> {
+            if (event.getKind() == TaskChangeEvent.Kind.ADDED) {
+                addedEvents.addAndGet(event.size());
+            }
+        }));
+    }
+
+    /**
+     * Runs the same job on several threads at once and waits for all of them.
+     */
+    private static void runConcurrently(int threads, IntConsumerWithException job) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                job.accept(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface IntConsumerWithException {
+        void accept(int value) throws Exception;
+    }
+
+    @Test
+    public void testConcurrentWritersLoseNoUpdates() throws Exception {
+        // Act: every thread adds and renames its own tasks while reading everybody's
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                String name = "T" + thread + "-" + i;
+                taskManager.addTask(name, 2);
+                Task task = taskManager.findTaskByName(name);
+                taskManager.updateTask(task, name + "!", 1);
+                taskManager.getFilteredTasks("Active");
+                taskManager.getFilteredRow("All", task);
+            }
+        });
+
+        // Assert
+        List<Task> tasks = taskManager.getAllTasks();
+        assertEquals(THREADS * TASKS_PER_THREAD, tasks.size());
+        assertEquals(THREADS * TASKS_PER_THREAD, addedEvents.get());
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            assertTrue(ids.add(task.getId()));
+            assertEquals(i, task.getIndex());
+            assertSame(task, taskManager.findTaskById(task.getId()));
+            assertTrue(task.getName().endsWith("!"));
+            assertEquals(1, task.getPriority());
+            assertEquals(List.of(task), taskManager.findTasksByName(task.getName()));
+        }
+        assertEquals(tasks, taskManager.getFilteredTasks("Active"));
+    }
+
+    @Test
+    public void testConcurrentDeletesKeepIndexesConsistent() throws Exception {
+        // Arrange
+        for (int i = 0; i < THREADS * TASKS_PER_THREAD; i++) {
+            taskManager.addTask("Task " + (i % THREADS), 2);
+        }
+        List<Task> all = taskManager.getAllTasks();
+
+        // Act: each thread deletes every task whose position matches its number
+        runConcurrently(THREADS, thread -> {
+            for (int i = thread; i < all.size(); i += THREADS) {
+                if (i % 2 == 0) {
+                    taskManager.deleteTask(all.get(i));
+                } else {
+                    taskManager.completeTask(all.get(i));
+                }
+            }
+        });
+
+        // Assert
+        List<Task> remaining = taskManager.getAllTasks();
+        assertEquals(all.size() / 2, remaining.size());
+        assertEquals(remaining, taskManager.getFilteredTasks("Completed"));
+        assertTrue(taskManager.getFilteredTasks("Active").isEmpty());
+        for (int i = 0; i < remaining.size(); i++) {
+            assertEquals(i, remaining.get(i).getIndex());
+        }
+        assertEquals(TASKS_PER_THREAD, taskManager.findTasksByName("Task 1").size());
+        assertTrue(taskManager.findTasksByName("Task 0").isEmpty());
+    }
+
+    @Test
+    public void testOnlyOneTaskBecomesActive() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            // Arrange
+            setUp();
+            for (int i = 0; i < THREADS; i++) {
+                taskManager.addTask("Task " + i, 1);
+            }
+            List<Task> tasks = taskManager.getAllTasks();
+            AtomicInteger started = new AtomicInteger();
+
+            // Act
+            runConcurrently(THREADS, thread -> {
+                try {
+                    taskManager.startTask(tasks.get(thread));
+                    started.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    // Another thread won
+                }
+            });
+
+            // Assert
+            assertEquals(1, started.get());
+            Task active = taskManager.getCurrentActiveTask();
+            assertTrue(active.isInProgress());
+            assertEquals(1, tasks.stream().filter(Task::isInProgress).count());
+        }
+    }
+}
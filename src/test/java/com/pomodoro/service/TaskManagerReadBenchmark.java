@@ -0,0 +1,70 @@
+package com.pomodoro.service;
+
+import com.pomodoro.model.Task;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how TaskManager lookups scale with the number of reading threads,
+ * with and without a thread writing at the same time.
+ * Not part of the unit test suite; run it directly:
+ * {@code java -cp target/classes:target/test-classes:<deps> com.pomodoro.service.TaskManagerReadBenchmark}
+ */
+public class TaskManagerReadBenchmark {
+    private static final int TASKS = 100_000;
+    private static final long RUN_MILLIS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        TestDataManager dataManager = new TestDataManager();
+        TaskManager taskManager = new TaskManager(dataManager, new AnalyticsService(dataManager));
+        taskManager.setEventDispatcher(Runnable::run);
+        for (int i = 0; i < TASKS; i++) {
+            taskManager.addTask("Task " + i, 1 + i % 3);
+        }
+        List<Task> tasks = taskManager.getAllTasks();
+
+        System.out.printf("%-8s %-8s %16s %16s%n", "readers", "writer", "lookups/s", "per reader/s");
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (boolean withWriter : new boolean[]{false, true}) {
+            for (int readers = 1; readers <= Math.max(1, cores); readers *= 2) {
+                long lookups = run(taskManager, tasks, readers, withWriter);
+                double perSecond = lookups * 1000.0 / RUN_MILLIS;
+                System.out.printf("%-8d %-8s %16.0f %16.0f%n", readers, withWriter, perSecond, perSecond / readers);
+            }
+        }
+    }
+
+    private static long run(TaskManager taskManager, List<Task> tasks, int readers, boolean withWriter)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+        LongAdder lookups = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        for (int r = 0; r < readers; r++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    Task task = tasks.get(random.nextInt(tasks.size()));
+                    taskManager.findTaskById(task.getId());
+                    taskManager.getFilteredRow("All", task);
+                    taskManager.findTaskByName(task.getName());
+                    count += 3;
+                }
+                lookups.add(count);
+            });
+        }
+        if (withWriter) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Task task = tasks.get(random.nextInt(tasks.size()));
+                    taskManager.updateTask(task, task.getName(), 1 + random.nextInt(3));
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(RUN_MILLIS * 10, TimeUnit.MILLISECONDS);
+        return lookups.sum();
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 import com.pomodoro.model.Task;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -118,4 +119,132 @@ public class TaskManagerTest {
         assertEquals(1, taskManager.getFilteredTasks("Active").size());
         assertEquals(2, taskManager.getFilteredTasks("All").size());
     }
+
+    @Test
+    public void testLookupByIdAndDuplicateNames() {
+        // Arrange
+        taskManager.addTask("Review", 1);
+        taskManager.addTask("Write", 2);
+        taskManager.addTask("Review", 3);
+        List<Task> tasks = taskManager.getAllTasks();
+        Task second = tasks.get(2);
+
+        // Act
+        taskManager.deleteTask(tasks.get(0));
+
+        // Assert
+        assertSame(second, taskManager.findTaskById(second.getId()));
+        assertNull(taskManager.findTaskById(tasks.get(0).getId()));
+        assertEquals(List.of(second), taskManager.findTasksByName("Review"));
+        assertEquals(1, second.getIndex());
+    }
+
+    @Test
+    public void testNameIndexFollowsUpdatesAndSorting() {
+        // Arrange
+        taskManager.addTask("B Task", 2);
+        taskManager.addTask("A Task", 1);
+        Task renamed = taskManager.getAllTasks().get(0);
+
+        // Act
+        taskManager.updateTask(renamed, "A Task", 3);
+        taskManager.sortTasks(1); // Sort by priority
+
+        // Assert
+        assertTrue(taskManager.findTasksByName("B Task").isEmpty());
+        List<Task> named = taskManager.findTasksByName("A Task");
+        assertEquals(2, named.size());
+        assertEquals(1, named.get(0).getPriority());
+        assertSame(renamed, named.get(1));
+        assertSame(named.get(0), taskManager.findTaskByName("A Task"));
+    }
+
+    @Test
+    public void testFilteredViewsFollowStatusChanges() {
+        // Arrange
+        taskManager.addTask("Task 1", 1);
+        taskManager.addTask("Task 2", 1);
+        taskManager.addTask("Task 3", 1);
+        List<Task> tasks = taskManager.getAllTasks();
+        List<Task> before = taskManager.getFilteredTasks("Active");
+
+        // Act
+        taskManager.completeTask(tasks.get(2));
+        taskManager.completeTask(tasks.get(0));
+        taskManager.resetTask(tasks.get(2));
+        taskManager.deleteTask(tasks.get(1));
+        List<Task> active = taskManager.getFilteredTasks("Active");
+
+        // Assert
+        assertEquals(tasks, before); // Snapshots never change
+        assertEquals(List.of(tasks.get(2)), active);
+        assertEquals(List.of(tasks.get(0)), taskManager.getFilteredTasks("Completed"));
+        assertSame(active, taskManager.getFilteredTasks("Active"));
+    }
+
+    @Test
+    public void testChangesAreBatchedUntilDispatched() {
+        // Arrange
+        List<Runnable> edt = new ArrayList<>();
+        List<List<TaskChangeEvent>> batches = new ArrayList<>();
+        taskManager.setEventDispatcher(edt::add);
+        taskManager.addListener(batches::add);
+
+        // Act
+        taskManager.addTask("Task 1", 1);
+        taskManager.addTask("Task 2", 2);
+        Task first = taskManager.getAllTasks().get(0);
+        taskManager.updateTask(first, "Renamed", 1);
+        taskManager.updateTask(first, "Renamed again", 1);
+        edt.forEach(Runnable::run);
+
+        // Assert: one delivery, with the repeated update folded into one event
+        assertEquals(1, edt.size());
+        assertEquals(1, batches.size());
+        assertEquals("[ADDED 0-0, ADDED 1-1, UPDATED 0-0]", batches.get(0).toString());
+    }
+
+    @Test
+    public void testBulkOperationsEmitOneBatch() {
+        // Arrange
+        List<List<TaskChangeEvent>> batches = new ArrayList<>();
+        taskManager.setEventDispatcher(Runnable::run);
+        taskManager.importTasks(List.of(new Task("A", 1), new Task("B", 1), new Task("C", 1), new Task("D", 1)));
+        List<Task> tasks = taskManager.getAllTasks();
+        taskManager.completeTask(tasks.get(0));
+        taskManager.completeTask(tasks.get(2));
+        taskManager.completeTask(tasks.get(3));
+        taskManager.addListener(batches::add);
+
+        // Act
+        taskManager.clearCompletedTasks();
+        taskManager.sortTasks(0);
+
+        // Assert
+        assertEquals(2, batches.size());
+        assertEquals("[REMOVED 2-3, REMOVED 0-0]", batches.get(0).toString());
+        assertEquals("[MOVED 0-0]", batches.get(1).toString());
+        assertEquals(List.of(tasks.get(1)), taskManager.getAllTasks());
+        assertEquals(0, tasks.get(1).getIndex());
+    }
+
+    @Test
+    public void testChangesMadeByListenersFollowTheCurrentBatch() {
+        // Arrange
+        List<String> deliveries = new ArrayList<>();
+        taskManager.setEventDispatcher(Runnable::run);
+        taskManager.addListener(events -> {
+            deliveries.add("start " + events);
+            if (deliveries.size() == 1) {
+                taskManager.addTask("Added by listener", 1);
+            }
+            deliveries.add("end");
+        });
+
+        // Act
+        taskManager.addTask("Task", 1);
+
+        // Assert: the second batch is delivered after the first one returns, not inside it
+        assertEquals(List.of("start [ADDED 0-0]", "end", "start [ADDED 1-1]", "end"), deliveries);
+    }
 }
@@ -0,0 +1,68 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import com.pomodoro.model.TaskStats;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for TaskStatsSnapshot class.
+ * Tests that publishing a change leaves earlier snapshots untouched and shares unchanged statistics.
+ */
+public class TaskStatsSnapshotTest {
+
+    private static TaskStats stats(String name, int seconds) {
+        TaskStats stats = new TaskStats(name);
+        stats.addPomodoro(seconds, LocalDateTime.of(2025, 1, 1, 9, 0));
+        return stats;
+    }
+
+    @Test
+    public void testChangeSharesUnchangedStats() {
+        // Arrange: enough tasks for a three-level trie
+        Map<String, TaskStats> loaded = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            loaded.put("Task " + i, stats("Task " + i, 60));
+        }
+        TaskStatsSnapshot first = TaskStatsSnapshot.of(loaded, 2_000);
+
+        // Act
+        TaskStatsSnapshot second = first.with(stats("Task 1500", 120), 1);
+
+        // Assert
+        assertEquals(0, first.getVersion());
+        assertEquals(1, second.getVersion());
+        assertEquals(2_000, first.getTotalPomodoros());
+        assertEquals(2_001, second.getTotalPomodoros());
+        assertEquals(60, first.get("Task 1500").getTotalTimeSpent());
+        assertEquals(120, second.get("Task 1500").getTotalTimeSpent());
+        assertSame(first.get("Task 7"), second.get("Task 7"));
+        assertEquals(2_000, second.size());
+        assertEquals(loaded.keySet(), second.keySet());
+    }
+
+    @Test
+    public void testTaskAddedLaterIsAbsentFromEarlierSnapshots() {
+        // Arrange
+        TaskStatsSnapshot empty = TaskStatsSnapshot.of(Map.of(), 0);
+
+        // Act
+        TaskStatsSnapshot one = empty.with(stats("Write report", 1500), 1);
+        TaskStatsSnapshot two = one.with(stats("Read mail", 300), 1);
+
+        // Assert
+        assertTrue(empty.isEmpty());
+        assertNull(one.get("Read mail"));
+        assertFalse(one.containsKey("Read mail"));
+        assertEquals(1, one.size());
+        assertEquals(Map.of("Write report", one.get("Write report"), "Read mail", two.get("Read mail")), two);
+        assertNull(two.get("Unknown"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsReadOnly() {
+        TaskStatsSnapshot.of(Map.of(), 0).put("Task", new TaskStats("Task"));
+    }
+}
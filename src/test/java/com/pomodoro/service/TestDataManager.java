@@ -2,6 +2,10 @@ package com.pomodoro.service;
 
 import com.pomodoro.model.Task;
 import com.pomodoro.model.Settings;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,6 +16,7 @@ import java.util.List;
 public class TestDataManager extends DataManager {
     private List<Task> tasks = new ArrayList<>();
     private Settings settings = new Settings();
+    private SessionStore sessionStore;
 
     /**
      * Creates a new TestDataManager instance.
@@ -55,4 +60,39 @@ public class TestDataManager extends DataManager {
     public void saveSettings(Settings settings) {
         this.settings = settings;
     }
+
+    /**
+     * Ignores task journal records; tasks are kept in memory.
+     * @param record Record to ignore
+     */
+    @Override
+    public void appendTaskRecord(JournalRecord record) {
+    }
+
+    /**
+     * Ignores analytics journal records so tests don't touch the data directory.
+     * @param record Record to ignore
+     */
+    @Override
+    public void appendAnalyticsRecord(JournalRecord record) {
+    }
+
+    /**
+     * Returns a session store backed by a temporary file.
+     * @return Session store
+     */
+    @Override
+    public synchronized SessionStore getSessionStore() {
+        if (sessionStore == null) {
+            try {
+                Path file = Files.createTempFile("pomodoro-sessions", ".dat");
+                file.toFile().deleteOnExit();
+                file.resolveSibling(file.getFileName() + ".names").toFile().deleteOnExit();
+                sessionStore = new SessionStore(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return sessionStore;
+    }
 }
@@ -0,0 +1,69 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Unit tests for TimeBucketRollup class.
+ * Tests that sessions land in the right day, week and month buckets
+ * and that series are cut from the counters up to today.
+ */
+public class TimeBucketRollupTest {
+    private final TimeBucketRollup rollup = new TimeBucketRollup(ZoneOffset.UTC);
+
+    private void add(LocalDateTime completionTime, int duration) {
+        rollup.add(completionTime.toEpochSecond(ZoneOffset.UTC), duration);
+    }
+
+    @Test
+    public void testBucketsAcrossBoundaries() {
+        // Arrange: Sunday 2024-12-29 and Monday 2024-12-30 fall into different ISO weeks
+        add(LocalDateTime.of(2024, 12, 29, 23, 59), 1500);
+        add(LocalDateTime.of(2024, 12, 30, 0, 1), 1500);
+        add(LocalDateTime.of(2025, 1, 2, 10, 0), 300);
+
+        // Assert
+        assertEquals(1, rollup.getCount(PeriodBucket.DAY, LocalDate.of(2024, 12, 29)));
+        assertEquals(1, rollup.getCount(PeriodBucket.WEEK, LocalDate.of(2024, 12, 23)));
+        assertEquals(2, rollup.getCount(PeriodBucket.WEEK, LocalDate.of(2025, 1, 5)));
+        assertEquals(1800, rollup.getSeconds(PeriodBucket.WEEK, LocalDate.of(2024, 12, 30)));
+        assertEquals(2, rollup.getCount(PeriodBucket.MONTH, LocalDate.of(2024, 12, 1)));
+        assertEquals(1, rollup.getCount(PeriodBucket.MONTH, LocalDate.of(2025, 1, 31)));
+    }
+
+    @Test
+    public void testOutOfOrderSessionsExtendRange() {
+        // Arrange
+        add(LocalDateTime.of(2025, 3, 1, 12, 0), 60);
+        add(LocalDateTime.of(2020, 3, 1, 12, 0), 60);
+
+        // Assert
+        assertEquals(LocalDate.of(2020, 3, 1), rollup.getEarliestDate());
+        assertEquals(1, rollup.getCount(PeriodBucket.DAY, LocalDate.of(2025, 3, 1)));
+        assertEquals(0, rollup.getCount(PeriodBucket.DAY, LocalDate.of(2019, 3, 1)));
+    }
+
+    @Test
+    public void testSeriesEndsOnToday() {
+        // Arrange
+        add(LocalDateTime.of(2025, 1, 30, 9, 0), 1500);
+        add(LocalDateTime.of(2025, 2, 3, 9, 0), 1500);
+        add(LocalDateTime.of(2025, 2, 3, 11, 0), 1500);
+
+        // Act
+        AnalyticsSnapshot.Series days = rollup.toSeries(PeriodBucket.DAY, LocalDate.of(2025, 2, 10));
+        AnalyticsSnapshot.Series months = rollup.toSeries(PeriodBucket.MONTH, LocalDate.of(2025, 2, 10));
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 1, 30).toEpochDay(), days.getFirstBucket());
+        assertEquals(LocalDate.of(2025, 2, 10).toEpochDay(), days.getLastBucket());
+        assertEquals(2, days.getCount(LocalDate.of(2025, 2, 3).toEpochDay()));
+        assertEquals(0, days.getCount(LocalDate.of(2025, 2, 4).toEpochDay()));
+        assertEquals(1, months.getCount(PeriodBucket.MONTH.bucketOf(LocalDate.of(2025, 1, 1))));
+        assertEquals(2, months.getCount(PeriodBucket.MONTH.bucketOf(LocalDate.of(2025, 2, 1))));
+        assertNull(new TimeBucketRollup(ZoneOffset.UTC).toSeries(PeriodBucket.WEEK, LocalDate.of(2025, 2, 10)));
+    }
+}
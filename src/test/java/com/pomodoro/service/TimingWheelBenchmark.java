@@ -0,0 +1,98 @@
+package com.pomodoro.service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures starting and cancelling 100k concurrent countdowns on the timing wheel
+ * against a ScheduledThreadPoolExecutor, then lets 100k live countdowns run out
+ * on a PomodoroTimerService and reports how late they fired.
+ * Not part of the unit test suite; run it directly:
+ * {@code java -cp target/classes:target/test-classes:<deps> com.pomodoro.service.TimingWheelBenchmark}
+ */
+public class TimingWheelBenchmark {
+    private static final int SESSIONS = 100_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        long[] delays = new long[SESSIONS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < SESSIONS; i++) {
+            delays[i] = 5 * 60 + random.nextInt(25 * 60); // 5 to 30 minutes, in 100ms ticks below
+        }
+
+        System.out.printf("%-28s %14s %14s%n", "", "schedule ns", "cancel ns");
+        for (int round = 0; round < ROUNDS; round++) {
+            benchmarkWheel(delays);
+            benchmarkScheduledExecutor(delays);
+        }
+        benchmarkLiveService();
+    }
+
+    private static void benchmarkWheel(long[] delays) {
+        TimingWheel<Integer> wheel = new TimingWheel<>(0);
+        @SuppressWarnings("unchecked")
+        TimingWheel.Timeout<Integer>[] timeouts = (TimingWheel.Timeout<Integer>[]) new TimingWheel.Timeout<?>[SESSIONS];
+        long start = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i++) {
+            timeouts[i] = wheel.schedule(delays[i] * 10, i);
+        }
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i += 2) {
+            timeouts[i].cancel();
+        }
+        long cancelled = System.nanoTime();
+        long[] fired = new long[1];
+        wheel.advanceTo(30 * 60 * 10 + 1, payload -> fired[0]++);
+        if (fired[0] != SESSIONS / 2) {
+            throw new IllegalStateException("Fired " + fired[0]);
+        }
+        System.out.printf("%-28s %14.1f %14.1f%n", "TimingWheel",
+            (scheduled - start) / (double) SESSIONS, (cancelled - scheduled) / (SESSIONS / 2.0));
+    }
+
+    private static void benchmarkScheduledExecutor(long[] delays) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[SESSIONS];
+        Runnable noop = () -> { };
+        long start = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i++) {
+            futures[i] = executor.schedule(noop, delays[i], TimeUnit.SECONDS);
+        }
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i += 2) {
+            futures[i].cancel(false);
+        }
+        long cancelled = System.nanoTime();
+        executor.shutdownNow();
+        System.out.printf("%-28s %14.1f %14.1f%n", "ScheduledThreadPoolExecutor",
+            (scheduled - start) / (double) SESSIONS, (cancelled - scheduled) / (SESSIONS / 2.0));
+    }
+
+    private static void benchmarkLiveService() throws InterruptedException {
+        CountDownLatch ended = new CountDownLatch(SESSIONS);
+        AtomicLong maxLateNanos = new AtomicLong();
+        AtomicLong totalLateNanos = new AtomicLong();
+        try (PomodoroTimerService timers = new PomodoroTimerService(Duration.ofMillis(10), Runnable::run)) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long start = System.nanoTime();
+            for (int i = 0; i < SESSIONS; i++) {
+                long delay = TimeUnit.MILLISECONDS.toNanos(500 + random.nextInt(1500));
+                long deadline = System.nanoTime() + delay;
+                timers.startWork(Duration.ofNanos(delay), countdown -> {
+                    long late = System.nanoTime() - deadline;
+                    totalLateNanos.addAndGet(late);
+                    maxLateNanos.accumulateAndGet(late, Math::max);
+                    ended.countDown();
+                });
+            }
+            System.out.printf("%nStarted %d live countdowns in %d ms%n",
+                SESSIONS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            ended.await();
+        }
+        System.out.printf("All fired; mean lateness %.2f ms, max %.2f ms (10 ms tick)%n",
+            totalLateNanos.get() / (double) SESSIONS / 1e6, maxLateNanos.get() / 1e6);
+    }
+}
@@ -0,0 +1,138 @@
+package com.pomodoro.service;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for TimingWheel and PomodoroTimerService classes.
+ * Tests expiry across wheel levels, cancellation, and countdowns driven by the scheduler thread.
+ */
+public class TimingWheelTest {
+    @Test
+    public void testTimeoutsExpireAtTheirTickAcrossLevels() {
+        // Arrange
+        TimingWheel<Long> wheel = new TimingWheel<>(0);
+        long[] deadlines = {1, 63, 64, 65, 4095, 4096, 100_000, 300_001};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+        List<Long> fired = new ArrayList<>();
+
+        // Act & Assert
+        for (long deadline : deadlines) {
+            wheel.advanceTo(deadline - 1, fired::add);
+            assertFalse("Fired early: " + deadline, fired.contains(deadline));
+            wheel.advanceTo(deadline, fired::add);
+            assertEquals(deadline, (long) fired.get(fired.size() - 1));
+        }
+        assertEquals(deadlines.length, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRandomTimeoutsFireExactlyOnTime() {
+        // Arrange
+        Random random = new Random(42);
+        TimingWheel<long[]> wheel = new TimingWheel<>(random.nextInt(1000));
+        List<TimingWheel.Timeout<long[]>> timeouts = new ArrayList<>();
+        long[] now = {wheel.getCurrentTick()};
+        int[] fired = {0};
+
+        // Act
+        for (int step = 0; step < 200; step++) {
+            for (int i = 0; i < 50; i++) {
+                long deadline = now[0] + 1 + random.nextInt(random.nextBoolean() ? 100 : 300_000);
+                timeouts.add(wheel.schedule(deadline, new long[]{deadline}));
+            }
+            timeouts.get(random.nextInt(timeouts.size())).cancel();
+            long target = now[0] + random.nextInt(5000);
+            while (now[0] < target) {
+                now[0]++;
+                wheel.advanceTo(now[0], payload -> {
+                    assertEquals(payload[0], now[0]);
+                    fired[0]++;
+                });
+            }
+        }
+        wheel.advanceTo(now[0] + 400_000, payload -> fired[0]++);
+
+        // Assert
+        long cancelled = timeouts.stream().filter(TimingWheel.Timeout::isCancelled).count();
+        assertEquals(timeouts.size() - cancelled, fired[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancelledTimeoutNeverFires() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10);
+        TimingWheel.Timeout<String> kept = wheel.schedule(5000, "kept");
+        TimingWheel.Timeout<String> cancelled = wheel.schedule(5000, "cancelled");
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        assertTrue(cancelled.cancel());
+        wheel.advanceTo(6000, fired::add);
+
+        // Assert
+        assertEquals(List.of("kept"), fired);
+        assertTrue(kept.isExpired());
+        assertFalse(kept.cancel());
+        assertFalse(cancelled.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testPastAndFarDeadlines() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule(50, "past");
+        long far = 100 + TimingWheel.SPAN * 2 + 7;
+        wheel.schedule(far, "far");
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        wheel.advanceTo(101, fired::add);
+        wheel.advanceTo(far - 1, fired::add);
+
+        // Assert
+        assertEquals(List.of("past"), fired);
+        wheel.advanceTo(far, fired::add);
+        assertEquals(List.of("past", "far"), fired);
+    }
+
+    @Test
+    public void testTimerServiceFiresWorkAndBreakEnds() throws InterruptedException {
+        // Arrange
+        try (PomodoroTimerService timers = new PomodoroTimerService(Duration.ofMillis(5), Runnable::run)) {
+            CountDownLatch ended = new CountDownLatch(2);
+            List<PomodoroTimerService.Phase> phases = new ArrayList<>();
+            long start = System.nanoTime();
+
+            // Act
+            timers.startWork(Duration.ofMillis(40), countdown -> {
+                phases.add(countdown.getPhase());
+                timers.startBreak(Duration.ofMillis(20), breakEnd -> {
+                    phases.add(breakEnd.getPhase());
+                    ended.countDown();
+                });
+                ended.countDown();
+            });
+            PomodoroTimerService.Countdown cancelled = timers.startWork(Duration.ofMillis(20),
+                countdown -> phases.add(null));
+            assertTrue(cancelled.cancel());
+
+            // Assert
+            assertTrue(ended.await(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(60));
+            assertEquals(List.of(PomodoroTimerService.Phase.WORK, PomodoroTimerService.Phase.BREAK), phases);
+            assertEquals(0, timers.size());
+        }
+    }
+}
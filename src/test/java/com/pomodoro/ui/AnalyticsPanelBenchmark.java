@@ -0,0 +1,71 @@
+package com.pomodoro.ui;
+
+import com.pomodoro.model.Task;
+import com.pomodoro.service.AnalyticsService;
+import com.pomodoro.service.AnalyticsSnapshot;
+import com.pomodoro.service.TestDataManager;
+import javax.swing.SwingUtilities;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Measures how long the Analytics panel takes to apply an update on the event thread
+ * with histories of several years, one session recorded between updates. Aggregation
+ * happens before the clock starts, as it does on the panel's worker; every chart is
+ * updated, not only the visible one. Runs headless.
+ * Not part of the unit test suite; run it directly:
+ * {@code java -Djava.awt.headless=true -cp target/classes:target/test-classes:<deps> com.pomodoro.ui.AnalyticsPanelBenchmark}
+ */
+public class AnalyticsPanelBenchmark {
+    private static final int SESSIONS_PER_DAY = 20;
+    private static final int WARMUP = 200;
+    private static final int UPDATES = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-8s %10s %12s %12s %12s%n", "years", "sessions", "mean ms", "p50 ms", "p99 ms");
+        for (int years : new int[]{1, 5, 20}) {
+            run(years);
+        }
+    }
+
+    private static void run(int years) throws Exception {
+        AnalyticsService analyticsService = new AnalyticsService(new TestDataManager());
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusYears(years); day.isBefore(today); day = day.plusDays(1)) {
+            for (int i = 0; i < SESSIONS_PER_DAY; i++) {
+                analyticsService.recordPomodoro(completedTask("Task " + i, day.atTime(8 + i % 12, i)), 1500);
+            }
+        }
+        int sessions = analyticsService.getTotalPomodoros();
+
+        AnalyticsPanel[] panel = new AnalyticsPanel[1];
+        SwingUtilities.invokeAndWait(() -> panel[0] = new AnalyticsPanel(analyticsService));
+        Task task = completedTask("Task 0", LocalDateTime.now());
+        long[] nanos = new long[UPDATES];
+        for (int i = -WARMUP; i < UPDATES; i++) {
+            analyticsService.recordPomodoro(task, 1500);
+            AnalyticsSnapshot snapshot = analyticsService.snapshot();
+            int round = i;
+            SwingUtilities.invokeAndWait(() -> {
+                long start = System.nanoTime();
+                panel[0].applySnapshot(snapshot);
+                if (round >= 0) {
+                    nanos[round] = System.nanoTime() - start;
+                }
+            });
+        }
+
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0);
+        System.out.printf("%-8d %10d %12.3f %12.3f %12.3f%n", years, sessions,
+            mean / 1e6, nanos[UPDATES / 2] / 1e6, nanos[UPDATES * 99 / 100] / 1e6);
+    }
+
+    private static Task completedTask(String name, LocalDateTime completionTime) {
+        Task task = new Task(name, 1);
+        task.setCompleted(true);
+        task.setCompletionTime(completionTime);
+        return task;
+    }
+}
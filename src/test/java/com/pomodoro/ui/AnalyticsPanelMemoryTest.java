@@ -0,0 +1,116 @@
+package com.pomodoro.ui;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.Task;
+import com.pomodoro.service.AnalyticsService;
+import com.pomodoro.service.TestDataManager;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import javax.swing.*;
+import java.awt.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for AnalyticsPanel class.
+ * Tests that charts, datasets and button listeners are reused across updates,
+ * so heap use stays flat however often the analytics change. Runs headless.
+ */
+public class AnalyticsPanelMemoryTest {
+    private AnalyticsService analyticsService;
+    private AnalyticsPanel panel;
+    private Task task;
+
+    @Before
+    public void setUp() throws Exception {
+        analyticsService = new AnalyticsService(new TestDataManager());
+        task = new Task("Task", 1);
+        task.setCompleted(true);
+        task.setCompletionTime(LocalDateTime.now());
+        SwingUtilities.invokeAndWait(() -> panel = new AnalyticsPanel(analyticsService));
+    }
+
+    @Test
+    public void testChartsAreUpdatedInPlace() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            // Arrange
+            panel.applySnapshot(analyticsService.snapshot());
+            List<JFreeChart> charts = charts();
+            List<Integer> listenerCounts = listenerCounts();
+
+            // Act
+            update(2_000);
+
+            // Assert
+            assertEquals(3, charts.size());
+            assertEquals(charts, charts());
+            assertEquals(listenerCounts, listenerCounts());
+            assertEquals(3, components(panel, ChartPanel.class).size());
+        });
+    }
+
+    @Test
+    public void testHeapStaysFlatOverManyUpdates() throws Exception {
+        long[] used = new long[2];
+        SwingUtilities.invokeAndWait(() -> {
+            // Arrange
+            update(500);
+            used[0] = usedHeap();
+
+            // Act
+            update(5_000);
+            used[1] = usedHeap();
+        });
+
+        // Assert - the sessions themselves take well under a megabyte
+        long growth = used[1] - used[0];
+        assertTrue("Heap grew by " + growth / 1024 + " KiB", growth < 8L * 1024 * 1024);
+    }
+
+    private void update(int times) {
+        for (int i = 0; i < times; i++) {
+            analyticsService.recordPomodoro(task, 60);
+            panel.applySnapshot(analyticsService.snapshot());
+        }
+    }
+
+    private List<JFreeChart> charts() {
+        List<JFreeChart> charts = new ArrayList<>();
+        for (ChartPanel chartPanel : components(panel, ChartPanel.class)) {
+            charts.add(chartPanel.getChart());
+        }
+        return charts;
+    }
+
+    private List<Integer> listenerCounts() {
+        List<Integer> counts = new ArrayList<>();
+        for (JButton button : components(panel, JButton.class)) {
+            counts.add(button.getActionListeners().length);
+        }
+        return counts;
+    }
+
+    private static <T> List<T> components(Container container, Class<T> type) {
+        List<T> found = new ArrayList<>();
+        for (Component component : container.getComponents()) {
+            if (type.isInstance(component)) {
+                found.add(type.cast(component));
+            }
+            if (component instanceof Container child) {
+                found.addAll(components(child, type));
+            }
+        }
+        return found;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
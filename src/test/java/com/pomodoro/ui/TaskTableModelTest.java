@@ -0,0 +1,105 @@
+package com.pomodoro.ui;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import com.pomodoro.model.Task;
+import com.pomodoro.service.AnalyticsService;
+import com.pomodoro.service.TaskManager;
+import com.pomodoro.service.TestDataManager;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for TaskTableModel class.
+ * Tests that task changes fire events for the affected rows only.
+ */
+public class TaskTableModelTest {
+    private TaskManager taskManager;
+    private TaskTableModel model;
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        TestDataManager dataManager = new TestDataManager();
+        taskManager = new TaskManager(dataManager, new AnalyticsService(dataManager));
+        taskManager.setEventDispatcher(Runnable::run);
+        taskManager.addTask("Task 1", 1);
+        taskManager.addTask("Task 2", 2);
+        taskManager.addTask("Task 3", 3);
+        model = new TaskTableModel(taskManager);
+        model.addTableModelListener(e -> events.add(describe(e)));
+    }
+
+    private static String describe(TableModelEvent e) {
+        if (e.getLastRow() == Integer.MAX_VALUE) {
+            return "all";
+        }
+        String type = switch (e.getType()) {
+            case TableModelEvent.INSERT -> "insert";
+            case TableModelEvent.DELETE -> "delete";
+            default -> "update";
+        };
+        return type + " " + e.getFirstRow() + "-" + e.getLastRow();
+    }
+
+    @Test
+    public void testCellsReadFromTaskManager() {
+        // Assert
+        assertEquals(3, model.getRowCount());
+        assertEquals("Task 2", model.getValueAt(1, 0));
+        assertEquals("Medium", model.getValueAt(1, 1));
+        assertEquals("Not Started", model.getValueAt(1, 2));
+    }
+
+    @Test
+    public void testChangesFireSingleRowEvents() {
+        // Arrange
+        Task second = model.getTaskAt(1);
+
+        // Act
+        taskManager.pauseTask(second);
+        taskManager.addTask("Task 4", 1);
+        taskManager.deleteTask(model.getTaskAt(0));
+
+        // Assert
+        assertEquals(List.of("update 1-1", "insert 3-3", "delete 0-0"), events);
+        assertSame(second, model.getTaskAt(0));
+    }
+
+    @Test
+    public void testFilteredViewUpdatesRowsInPlace() {
+        // Arrange
+        model.setFilter("Active");
+        events.clear();
+        Task second = model.getTaskAt(1);
+
+        // Act
+        taskManager.pauseTask(second);
+        taskManager.completeTask(second);
+
+        // Assert: completing moves the task out of the view, which redraws the table
+        assertEquals(List.of("update 1-1", "all"), events);
+        assertEquals(2, model.getRowCount());
+    }
+
+    @Test
+    public void testBatchReplaysEventsInOrder() {
+        // Arrange
+        List<Runnable> edt = new ArrayList<>();
+        taskManager.setEventDispatcher(edt::add);
+
+        // Act
+        taskManager.addTask("Task 4", 1);
+        taskManager.deleteTask(taskManager.getTaskByIndex(0));
+        taskManager.pauseTask(taskManager.getTaskByIndex(0));
+        int rowsBeforeDelivery = model.getRowCount();
+        edt.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(1, edt.size());
+        assertEquals(3, rowsBeforeDelivery); // The table only sees changes with their events
+        assertEquals(List.of("insert 3-3", "delete 0-0", "update 0-0"), events);
+    }
+}